@@ -5,6 +5,9 @@ plugins {
 
     id("com.github.johnrengelman.shadow") version "8.1.1"
 
+	// benchmarks in 'src/jmh', run with 'jmh' task
+	id("me.champeau.jmh") version "0.7.2"
+
 	// auto update dependencies with 'useLatestVersions' task
 	id("se.patrikerdes.use-latest-versions") version "0.2.18"
 	id("com.github.ben-manes.versions") version "0.50.0"
@@ -16,17 +19,24 @@ dependencies {
         isChanging = true
     }
 
-	// org.slf4j.Logger
-	implementation("org.slf4j:slf4j-api:1.7.32")
-    implementation("ch.qos.logback:logback-classic:1.4.14")
+	// org.slf4j.Logger, provided by jadx at runtime
+	compileOnly("org.slf4j:slf4j-api:1.7.32")
 
     testImplementation("org.assertj:assertj-core:3.24.2")
     testImplementation("org.junit.jupiter:junit-jupiter-api:5.10.1")
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.10.1")
+    testRuntimeOnly("ch.qos.logback:logback-classic:1.4.14")
 
 	testImplementation("io.github.skylot:jadx-smali-input:1.5.0-SNAPSHOT") {
         isChanging = true
     }
+
+	jmh("io.github.skylot:jadx-core:1.5.0-SNAPSHOT") {
+		isChanging = true
+	}
+	jmh("io.github.skylot:jadx-smali-input:1.5.0-SNAPSHOT") {
+		isChanging = true
+	}
 }
 
 repositories {
@@ -42,6 +52,13 @@ java {
 
 version = System.getenv("VERSION") ?: "dev"
 
+jmh {
+	jmhVersion.set("1.37")
+	// report allocation per operation
+	profilers.set(listOf("gc"))
+	resultFormat.set("JSON")
+}
+
 tasks {
     withType(Test::class) {
         useJUnitPlatform()
@@ -0,0 +1,193 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 代码生成与同名方法区分的基准测试，使用合成的 smali 类：
+ * 同名同参数方法数量分别为 1 / 100 / 5000，以及参数很多的方法。
+ * <p>
+ * 运行：./gradlew jmh（已启用 gc profiler，可查看每个代码片段的内存分配）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodegenBenchmark {
+
+	private static final String[] PARAM_TYPES = {
+			"I", "J", "Z", "Ljava/lang/String;", "Lbench/Model;", "[B", "Landroid/os/Bundle;", "[Lbench/Model;",
+	};
+
+	@Param({"1", "100", "5000"})
+	public int overloads;
+
+	private Path tempDir;
+	private JadxDecompiler jadx;
+	private CodeGenerator generator;
+	private CustomOptions options;
+
+	private MethodNode overloadedMethod;
+	private List<MethodNode> confusedMethods;
+	private FilterChain overloadedChain;
+	private FeatureIndex featureIndex;
+	private MethodNode longParamsMethod;
+	private ArgType[] argTypes;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		tempDir = Files.createTempDirectory("ezx-codegen-bench");
+		Path overloadsFile = tempDir.resolve("Overloads.smali");
+		Path longParamsFile = tempDir.resolve("LongParams.smali");
+		Files.writeString(overloadsFile, genOverloadsClass(overloads), StandardCharsets.UTF_8);
+		Files.writeString(longParamsFile, genLongParamsClass(), StandardCharsets.UTF_8);
+
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(overloadsFile.toFile());
+		args.getInputFiles().add(longParamsFile.toFile());
+		jadx = new JadxDecompiler(args);
+		jadx.load();
+
+		options = createOptions();
+		generator = new CodeGenerator(null, jadx, options);
+
+		ClassNode overloadsCls = findClass("bench.Overloads");
+		overloadedMethod = overloadsCls.getMethods().get(overloadsCls.getMethods().size() / 2);
+		confusedMethods = ClassIndex.getConfusedMethods(overloadedMethod);
+		overloadedChain = generator.buildMethodChain(overloadedMethod);
+		featureIndex = FeatureIndex.of(jadx.getRoot());
+		longParamsMethod = findClass("bench.LongParams").getMethods().get(0);
+		argTypes = longParamsMethod.getArgTypes().toArray(new ArgType[0]);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		jadx.close();
+		try (var files = Files.list(tempDir)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(tempDir);
+	}
+
+	@Benchmark
+	public String generateOverloadedMethod() {
+		return generator.generateMethodSnippet(overloadedMethod);
+	}
+
+	@Benchmark
+	public List<MemberFilter> searchUniqueFilters() {
+		if (confusedMethods.isEmpty()) {
+			return Collections.emptyList();
+		}
+		return new Comparator(overloadedMethod, confusedMethods, options).searchUniqueFilters();
+	}
+
+	@Benchmark
+	public ChainEvaluator.Result evaluateChain() {
+		return ChainEvaluator.evaluate(overloadedChain);
+	}
+
+	@Benchmark
+	public MethodFeatures searchUniqueFeatures() {
+		return featureIndex.searchUniqueFeatures(overloadedMethod, false);
+	}
+
+	@Benchmark
+	public String generateLongParamList() {
+		return generator.generateMethodSnippet(longParamsMethod);
+	}
+
+	@Benchmark
+	public void genClassObject(Blackhole bh) {
+		for (ArgType argType : argTypes) {
+			bh.consume(KotlinEmitter.INSTANCE.classObject(argType, true));
+		}
+	}
+
+	private ClassNode findClass(String name) {
+		for (ClassNode cls : jadx.getRoot().getClasses()) {
+			if (cls.getFullName().equals(name)) {
+				return cls;
+			}
+		}
+		throw new IllegalStateException("Class not found: " + name);
+	}
+
+	/**
+	 * 同名同参数、仅返回值类型、修饰符与使用的字符串常量不同的方法
+	 */
+	private static String genOverloadsClass(int count) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(".class public Lbench/Overloads;\n.super Ljava/lang/Object;\n\n");
+		for (int i = 0; i < count; i++) {
+			String flags = (i % 2 == 0 ? "public" : "private") + (i % 3 == 0 ? " static" : "") + (i % 5 == 0 ? " final" : "");
+			sb.append(".method ").append(flags).append(" a(Ljava/lang/String;I)Lbench/Ret").append(i).append(";\n")
+					.append("    .registers 5\n")
+					// 每个方法的字符串常量组合不同，用于特征查找
+					.append("    const-string v0, \"common\"\n")
+					.append("    const-string v0, \"s").append(i % 16).append("\"\n")
+					.append("    const-string v0, \"t").append(i / 16).append("\"\n")
+					.append("    const/4 v0, 0x0\n")
+					.append("    return-object v0\n")
+					.append(".end method\n\n");
+		}
+		return sb.toString();
+	}
+
+	private static String genLongParamsClass() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(".class public Lbench/LongParams;\n.super Ljava/lang/Object;\n\n");
+		sb.append(".method public static b(");
+		for (int i = 0; i < 32; i++) {
+			sb.append(PARAM_TYPES[i % PARAM_TYPES.length]);
+		}
+		sb.append(")V\n    .registers 64\n    return-void\n.end method\n");
+		return sb.toString();
+	}
+
+	private static CustomOptions createOptions() throws ReflectiveOperationException {
+		CustomOptions options = new CustomOptions();
+		setField(options, "enable", true);
+		setField(options, "methodAccessEnable", false);
+		setField(options, "methodReturnEnable", false);
+		setField(options, "classOptimizationEnable", true);
+		setField(options, "debugEnable", false);
+		return options;
+	}
+
+	private static void setField(CustomOptions options, String name, Object value) throws ReflectiveOperationException {
+		Field field = CustomOptions.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(options, value);
+	}
+}
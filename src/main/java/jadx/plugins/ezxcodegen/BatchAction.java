@@ -0,0 +1,93 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.JadxDecompiler;
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.api.plugins.gui.JadxGuiContext;
+import jadx.core.dex.nodes.ClassNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 批量生成的 GUI 入口：选择输出文件后在后台线程中生成
+ */
+public class BatchAction {
+	private static final Logger LOG = LoggerFactory.getLogger(BatchAction.class);
+
+	private final JadxGuiContext guiContext;
+	private final JadxDecompiler decompiler;
+	private final CustomOptions options;
+	private final BatchGenerator batchGenerator;
+
+	public BatchAction(JadxGuiContext guiContext, JadxDecompiler decompiler, CustomOptions options) {
+		this.guiContext = guiContext;
+		this.decompiler = decompiler;
+		this.options = options;
+		this.batchGenerator = new BatchGenerator(decompiler, options);
+	}
+
+	public Boolean canGen(ICodeNodeRef nodeRef) {
+		return getClassNode(nodeRef) != null;
+	}
+
+	public void generateClass(ICodeNodeRef nodeRef) {
+		ClassNode cls = getClassNode(nodeRef);
+		if (cls != null) {
+			run(cls.getShortName(), () -> batchGenerator.collectClass(cls.getTopParentClass()));
+		}
+	}
+
+	public void generatePackage(ICodeNodeRef nodeRef) {
+		ClassNode cls = getClassNode(nodeRef);
+		if (cls != null) {
+			String pkg = cls.getPackage();
+			run(pkg, () -> batchGenerator.collectPackage(pkg));
+		}
+	}
+
+	public void generateAll() {
+		run("all", batchGenerator::collectAll);
+	}
+
+	private ClassNode getClassNode(ICodeNodeRef nodeRef) {
+		ICodeNodeRef node = Utils.toNode(decompiler, nodeRef);
+		return node == null ? null : Utils.getParentClass(node);
+	}
+
+	private void run(String name, Supplier<List<ClassNode>> collector) {
+		File output = chooseOutput(Utils.toIdentifier(name) + "Hooks." + options.getLanguage().getEmitter().getFileExtension());
+		if (output == null) {
+			return;
+		}
+		Path path = output.toPath();
+		Thread thread = new Thread(() -> {
+			try {
+				int count = batchGenerator.generate(collector.get(), path);
+				guiContext.uiRun(() -> JOptionPane.showMessageDialog(guiContext.getMainFrame(),
+						"已生成 " + count + " 个成员的代码 / Generated code for " + count + " members\n" + path));
+			} catch (Exception e) {
+				LOG.error("Batch generation failed", e);
+				guiContext.uiRun(() -> JOptionPane.showMessageDialog(guiContext.getMainFrame(),
+						"批量生成失败 / Batch generation failed: " + e.getMessage(),
+						EzxCodegenPlugin.PLUGIN_ID, JOptionPane.ERROR_MESSAGE));
+			}
+		}, "ezx-codegen-batch");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private File chooseOutput(String defaultName) {
+		JFileChooser chooser = new JFileChooser();
+		chooser.setSelectedFile(new File(defaultName));
+		if (chooser.showSaveDialog(guiContext.getMainFrame()) != JFileChooser.APPROVE_OPTION) {
+			return null;
+		}
+		return chooser.getSelectedFile();
+	}
+}
@@ -0,0 +1,358 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.JadxDecompiler;
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 批量生成：为一个类 / 包 / 整个 apk 的所有方法（或指定的成员）生成 hook 代码，并行生成后按顺序写入文件。
+ * <p>
+ * 只使用加载 dex 时得到的元数据（名称、访问标志、类型），不会触发反编译，无界面模式下在反编译之前执行。
+ */
+public class BatchGenerator {
+	private static final Logger LOG = LoggerFactory.getLogger(BatchGenerator.class);
+
+	/**
+	 * 每批处理的类数量，按批写入文件，避免所有结果堆积在内存中
+	 */
+	private static final int CHUNK_SIZE = 256;
+
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+	private final JadxDecompiler decompiler;
+	private final CustomOptions options;
+	/**
+	 * 所有工作线程共享同一个生成器
+	 */
+	private final CodeGenerator generator;
+
+	public BatchGenerator(JadxDecompiler decompiler, CustomOptions options) {
+		this.decompiler = decompiler;
+		this.options = options;
+		CodeGenerator generator = new CodeGenerator(null, decompiler, options);
+		this.generator = options.isClassHandleEnable() ? generator.withClassHandles() : generator;
+	}
+
+	public List<ClassNode> collectClass(ClassNode cls) {
+		List<ClassNode> result = new ArrayList<>();
+		addWithInners(cls, result);
+		return result;
+	}
+
+	/**
+	 * 直接遍历 RootNode 中已加载的类，不创建 JavaClass 包装
+	 */
+	public List<ClassNode> collectPackage(String pkg) {
+		List<ClassNode> result = new ArrayList<>();
+		for (ClassNode cls : decompiler.getRoot().getClassesWithoutInner()) {
+			if (cls.getPackage().equals(pkg)) {
+				addWithInners(cls, result);
+			}
+		}
+		return result;
+	}
+
+	public List<ClassNode> collectAll() {
+		List<ClassNode> result = new ArrayList<>();
+		for (ClassNode cls : decompiler.getRoot().getClassesWithoutInner()) {
+			addWithInners(cls, result);
+		}
+		return result;
+	}
+
+	private static void addWithInners(ClassNode cls, List<ClassNode> result) {
+		result.add(cls);
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			addWithInners(innerCls, result);
+		}
+	}
+
+	/**
+	 * 生成类中全部方法与字段的代码并写入文件
+	 *
+	 * @return 生成的代码数量
+	 */
+	public int generate(List<ClassNode> classes, Path output) throws IOException {
+		return generate(classes, BatchGenerator::collectMembers, output);
+	}
+
+	/**
+	 * 生成指定方法 / 字段的代码并写入文件，同一个类的成员写在一起
+	 *
+	 * @return 生成的代码数量
+	 */
+	public int generateMembers(List<ICodeNodeRef> members, Path output) throws IOException {
+		Map<ClassNode, List<ICodeNodeRef>> byClass = new LinkedHashMap<>();
+		for (ICodeNodeRef member : members) {
+			byClass.computeIfAbsent(Utils.getParentClass(member), k -> new ArrayList<>()).add(member);
+		}
+		return generate(new ArrayList<>(byClass.keySet()), byClass::get, output);
+	}
+
+	private int generate(List<ClassNode> classes, Function<ClassNode, List<ICodeNodeRef>> membersProvider, Path output) throws IOException {
+		if (options.isDebugEnable()) {
+			GenerationStats.reset();
+		}
+		int threads = Math.max(1, decompiler.getArgs().getThreadsCount());
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		int count = 0;
+		CodeEmitter emitter = options.getLanguage().getEmitter();
+		boolean streaming = options.isStreamingEnable();
+		resetPeakHeap();
+		try (BufferedWriter writer = new BufferedWriter(Channels.newWriter(FileChannel.open(output,
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE),
+				StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+				DiskSnippetCache diskCache = openDiskCache(output)) {
+			writer.write("// Generated by jadx " + EzxCodegenPlugin.PLUGIN_ID + "\n");
+			writer.write(emitter.fileHeader());
+			// 代码中直接使用类对象变量名，写入时记录用到的类，磁盘缓存命中的成员同样需要记录；文件级 val 只有 kotlin 支持
+			ClassHandleTable handleTable = options.isClassHandleEnable() && emitter.withClassHandles() != emitter
+					? new ClassHandleTable() : null;
+			for (int start = 0; start < classes.size(); start += CHUNK_SIZE) {
+				List<ClassNode> chunk = classes.subList(start, Math.min(start + CHUNK_SIZE, classes.size()));
+				List<ICodeNodeRef> members = new ArrayList<>();
+				for (ClassNode cls : chunk) {
+					members.addAll(membersProvider.apply(cls));
+				}
+				Map<ClassNode, Long> classHashes = diskCache == null ? null : pool.submit(() -> chunk.parallelStream()
+						.collect(Collectors.toConcurrentMap(cls -> cls, Fingerprints::ofDeclarations))).get();
+				FinderGroups groups = FinderGroups.of(members, options);
+				List<String> snippets = pool.submit(() -> members.parallelStream()
+						.map(member -> generateMember(member, groups.getMemberList(member), diskCache, classHashes))
+						.collect(Collectors.toList())).get();
+				if (handleTable != null) {
+					for (ICodeNodeRef member : members) {
+						handleTable.addMember(member, options.isClassOptimizationEnable());
+					}
+				}
+				writeChunk(writer, emitter, handleTable != null ? emitter.withClassHandles() : emitter, groups, members, snippets);
+				count += members.size();
+				if (streaming) {
+					int next = start + chunk.size();
+					releaseClasses(chunk, next < classes.size() ? classes.get(next) : null);
+				}
+			}
+			if (handleTable != null && !handleTable.isEmpty()) {
+				handleTable.write(writer);
+			}
+			writer.write(emitter.fileFooter());
+			if (emitter.usesResolver(options)) {
+				writer.write(emitter.getResolverSource());
+			}
+			if (diskCache != null) {
+				LOG.info("Reused {} of {} snippets from {}", diskCache.getHits(), count, getDiskCachePath(output));
+			}
+			if (options.isDebugEnable()) {
+				writer.write("\n// Stats: " + GenerationStats.summary() + "\n");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Batch generation interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IOException("Batch generation failed", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+		LOG.info("Generated {} hooks from {} classes into {}, peak heap {} MB",
+				count, classes.size(), output, getPeakHeap() / (1024 * 1024));
+		return count;
+	}
+
+	/**
+	 * 流式模式：释放已处理完的类的数据（包括内部类）与该类的索引。
+	 * 与下一批共享同一个顶层类的类留到下一批处理完后再释放。
+	 */
+	private static void releaseClasses(List<ClassNode> chunk, ClassNode nextCls) {
+		ClassNode pendingTop = nextCls == null ? null : nextCls.getTopParentClass();
+		Set<ClassNode> released = new LinkedHashSet<>();
+		for (ClassNode cls : chunk) {
+			ClassNode top = cls.getTopParentClass();
+			if (top != pendingTop && released.add(top)) {
+				top.unload();
+			}
+			ClassIndex.invalidate(cls);
+		}
+	}
+
+	private static void resetPeakHeap() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	/**
+	 * 各堆内存区峰值之和，略大于实际的堆峰值
+	 */
+	private static long getPeakHeap() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	private static List<ICodeNodeRef> collectMembers(ClassNode cls) {
+		List<ICodeNodeRef> result = new ArrayList<>();
+		for (MethodNode mth : cls.getMethods()) {
+			if (canHook(mth)) {
+				result.add(mth);
+			}
+		}
+		result.addAll(cls.getFields());
+		return result;
+	}
+
+	static boolean canHook(MethodNode mth) {
+		// 静态初始化块与抽象方法无法 hook
+		return !mth.getMethodInfo().isClassInit() && !mth.getAccessFlags().isAbstract();
+	}
+
+	private DiskSnippetCache openDiskCache(Path output) throws IOException {
+		if (!options.isIncrementalEnable()) {
+			return null;
+		}
+		if (options.isFeatureLookupEnable()) {
+			// 按特征查找的代码取决于方法体与整个 apk 中特征的唯一性，类的声明哈希无法判断是否过期
+			LOG.info("Incremental generation is disabled while feature lookup is enabled");
+			return null;
+		}
+		return DiskSnippetCache.open(getDiskCachePath(output), options);
+	}
+
+	private static Path getDiskCachePath(Path output) {
+		return output.resolveSibling(output.getFileName() + ".cache");
+	}
+
+	/**
+	 * 增量生成时先查磁盘缓存，类的声明有变化时才重新生成
+	 */
+	private String generateMember(ICodeNodeRef member, String memberList, DiskSnippetCache diskCache, Map<ClassNode, Long> classHashes) {
+		if (diskCache == null) {
+			return generateMember(member, memberList);
+		}
+		// 合并查找的代码与单独查找的不同，分开缓存
+		String key = memberList == null ? Utils.getRawId(member) : Utils.getRawId(member) + '@' + memberList;
+		long classHash = classHashes.get(Utils.getParentClass(member));
+		String snippet = diskCache.get(key, classHash);
+		if (snippet == null) {
+			try {
+				snippet = generateSnippet(member, memberList);
+			} catch (Exception e) {
+				return failed(member, e);
+			}
+			try {
+				diskCache.put(key, classHash, snippet);
+			} catch (IOException e) {
+				// 只影响下次的增量生成，本次结果仍然有效
+				LOG.warn("Failed to write snippet cache for {}", member, e);
+			}
+		}
+		return snippet;
+	}
+
+	private String generateMember(ICodeNodeRef member, String memberList) {
+		try {
+			return generateSnippet(member, memberList);
+		} catch (Exception e) {
+			return failed(member, e);
+		}
+	}
+
+	private String generateSnippet(ICodeNodeRef member, String memberList) {
+		if (member instanceof MethodNode) {
+			return generator.generateMethodSnippet((MethodNode) member, memberList);
+		}
+		return generator.generateFieldSnippet((FieldNode) member, memberList);
+	}
+
+	private static String failed(ICodeNodeRef member, Exception e) {
+		LOG.warn("Failed to generate hook for {}", member, e);
+		return "// Failed to generate: " + member + " (" + e.getMessage() + ")";
+	}
+
+	/**
+	 * @param declarationEmitter 输出成员列表声明的版本，使用类对象变量时与代码片段一致
+	 */
+	private void writeChunk(Writer writer, CodeEmitter emitter, CodeEmitter declarationEmitter, FinderGroups groups,
+			List<ICodeNodeRef> members, List<String> snippets) throws IOException {
+		int start = 0;
+		while (start < members.size()) {
+			ClassNode cls = Utils.getParentClass(members.get(start));
+			int end = start + 1;
+			while (end < members.size() && Utils.getParentClass(members.get(end)) == cls) {
+				end++;
+			}
+			writeClass(writer, emitter, declarationEmitter, groups, cls, snippets.subList(start, end));
+			start = end;
+		}
+	}
+
+	/**
+	 * 写入一个类的函数，函数开头声明合并查找的成员列表
+	 */
+	private void writeClass(Writer writer, CodeEmitter emitter, CodeEmitter declarationEmitter, FinderGroups groups,
+			ClassNode cls, List<String> snippets) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		groups.appendDeclarations(cls, declarationEmitter, sb);
+		String declarations = sb.toString();
+		String indent = emitter.bodyIndent();
+		writer.write("\n// ");
+		writer.write(cls.getFullName());
+		writer.write("\n");
+		writer.write(emitter.functionStart(Utils.toIdentifier("hook_" + cls.getRawName())));
+		if (!declarations.isEmpty()) {
+			writeIndented(writer, indent, declarations);
+			writer.write("\n\n");
+		}
+		for (String snippet : snippets) {
+			writeIndented(writer, indent, snippet);
+			writer.write("\n\n");
+		}
+		writer.write(emitter.functionEnd());
+	}
+
+	/**
+	 * 写入代码片段，每一行增加一级缩进
+	 */
+	private static void writeIndented(Writer writer, String indent, String snippet) throws IOException {
+		writer.write(indent);
+		int start = 0;
+		int end;
+		while ((end = snippet.indexOf('\n', start)) != -1) {
+			writer.write(snippet, start, end + 1 - start);
+			writer.write(indent);
+			start = end + 1;
+		}
+		writer.write(snippet, start, snippet.length() - start);
+	}
+}
@@ -0,0 +1,314 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.JadxDecompiler;
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.api.plugins.gui.JadxGuiContext;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.ProgressMonitor;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 一次为多个节点生成代码（某个节点的所有使用处、粘贴的签名列表），按顺序拼接后复制到剪贴板或写入文件。
+ * <p>
+ * 在有界的后台线程池中生成，显示进度并可取消，不阻塞界面线程。
+ */
+public class BulkCopyAction {
+	private static final Logger LOG = LoggerFactory.getLogger(BulkCopyAction.class);
+
+	/**
+	 * 后台生成线程数上限，避免占满 jadx 的反编译线程
+	 */
+	private static final int MAX_THREADS = 4;
+
+	/**
+	 * 检查取消状态的间隔
+	 */
+	private static final long POLL_MILLIS = 100;
+
+	private static final String[] OUTPUT_CHOICES = {"复制到剪贴板 / Clipboard", "保存到文件 / File"};
+
+	private final JadxGuiContext guiContext;
+	private final JadxDecompiler decompiler;
+	private final CustomOptions options;
+	private final CodeGenerator generator;
+
+	public BulkCopyAction(JadxGuiContext guiContext, JadxDecompiler decompiler, CustomOptions options, CodeGenerator generator) {
+		this.guiContext = guiContext;
+		this.decompiler = decompiler;
+		this.options = options;
+		this.generator = generator;
+	}
+
+	public Boolean canCopyUsages(ICodeNodeRef nodeRef) {
+		ICodeNodeRef node = Utils.toNode(decompiler, nodeRef);
+		return node != null && !getUsages(node).isEmpty();
+	}
+
+	/**
+	 * 为节点的所有使用处（调用方法、访问字段的方法等）生成代码
+	 */
+	public void copyUsages(ICodeNodeRef nodeRef) {
+		ICodeNodeRef node = Utils.toNode(decompiler, nodeRef);
+		if (node == null) {
+			return;
+		}
+		run(() -> getUsages(node), Utils.getName(node));
+	}
+
+	/**
+	 * 加载时收集的使用信息，无需反编译
+	 */
+	private static List<ICodeNodeRef> getUsages(ICodeNodeRef node) {
+		Set<ICodeNodeRef> result = new LinkedHashSet<>();
+		if (node instanceof MethodNode) {
+			addMethods(((MethodNode) node).getUseIn(), result);
+		} else if (node instanceof FieldNode) {
+			addMethods(((FieldNode) node).getUseIn(), result);
+		} else if (node instanceof ClassNode) {
+			ClassNode cls = (ClassNode) node;
+			result.addAll(cls.getUseIn());
+			addMethods(cls.getUseInMth(), result);
+		}
+		return new ArrayList<>(result);
+	}
+
+	private static void addMethods(List<MethodNode> methods, Set<ICodeNodeRef> result) {
+		for (MethodNode mth : methods) {
+			if (BatchGenerator.canHook(mth)) {
+				result.add(mth);
+			}
+		}
+	}
+
+	public Boolean canExpandCallGraph(ICodeNodeRef nodeRef) {
+		return Utils.toNode(decompiler, nodeRef) instanceof MethodNode;
+	}
+
+	public void copyCallers(ICodeNodeRef nodeRef) {
+		copyCallGraph(nodeRef, CallGraphIndex.Direction.CALLERS);
+	}
+
+	public void copyCallees(ICodeNodeRef nodeRef) {
+		copyCallGraph(nodeRef, CallGraphIndex.Direction.CALLEES);
+	}
+
+	/**
+	 * 为方法及按调用图展开的调用者 / 被调用方法（层数见 {@link CustomOptions#getCallGraphDepth()}）生成代码
+	 */
+	private void copyCallGraph(ICodeNodeRef nodeRef, CallGraphIndex.Direction direction) {
+		ICodeNodeRef node = Utils.toNode(decompiler, nodeRef);
+		if (!(node instanceof MethodNode)) {
+			return;
+		}
+		MethodNode mth = (MethodNode) node;
+		// 首次使用时在后台线程中构建整个 apk 的调用图
+		run(() -> expandCallGraph(mth, direction), Utils.getName(mth) + "_" + direction.name().toLowerCase());
+	}
+
+	private List<ICodeNodeRef> expandCallGraph(MethodNode mth, CallGraphIndex.Direction direction) {
+		List<MethodNode> methods = CallGraphIndex.of(decompiler.getRoot()).expand(mth, direction, options.getCallGraphDepth());
+		Set<ICodeNodeRef> result = new LinkedHashSet<>();
+		addMethods(methods, result);
+		return new ArrayList<>(result);
+	}
+
+	/**
+	 * 为粘贴的签名列表（每行一个，格式见 {@link SignatureResolver}）生成代码
+	 */
+	public void copySignatures() {
+		JTextArea textArea = new JTextArea(20, 80);
+		int result = JOptionPane.showConfirmDialog(guiContext.getMainFrame(), new JScrollPane(textArea),
+				"粘贴签名列表，每行一个 / Paste signatures, one per line", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+		if (result != JOptionPane.OK_OPTION) {
+			return;
+		}
+		List<String> signatures = Arrays.asList(textArea.getText().split("\\R"));
+		// regex: 行需要扫描整个 apk
+		run(() -> new SignatureResolver(decompiler.getRoot()).resolve(signatures), "signatures");
+	}
+
+	/**
+	 * 在后台线程中获取要生成的成员，完成后回到界面线程确认输出方式
+	 */
+	private void run(Supplier<List<ICodeNodeRef>> membersProvider, String name) {
+		Thread thread = new Thread(() -> {
+			List<ICodeNodeRef> members;
+			try {
+				members = membersProvider.get();
+			} catch (Exception e) {
+				LOG.error("Failed to collect members", e);
+				showError(e);
+				return;
+			}
+			guiContext.uiRun(() -> confirm(members, name));
+		}, "ezx-codegen-bulk-collect");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void confirm(List<ICodeNodeRef> members, String name) {
+		if (members.isEmpty()) {
+			JOptionPane.showMessageDialog(guiContext.getMainFrame(), "没有可生成的成员 / No members to generate");
+			return;
+		}
+		int choice = JOptionPane.showOptionDialog(guiContext.getMainFrame(),
+				"共 " + members.size() + " 个成员 / " + members.size() + " members", EzxCodegenPlugin.PLUGIN_ID,
+				JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, OUTPUT_CHOICES, OUTPUT_CHOICES[0]);
+		if (choice < 0) {
+			return;
+		}
+		File output = null;
+		if (choice == 1) {
+			output = chooseOutput(Utils.toIdentifier(name) + "Hooks." + options.getLanguage().getEmitter().getFileExtension());
+			if (output == null) {
+				return;
+			}
+		}
+		ProgressMonitor monitor = new ProgressMonitor(guiContext.getMainFrame(),
+				"生成 EzxHelper 代码 / Generating EzxHelper code", null, 0, members.size());
+		monitor.setMillisToDecideToPopup(200);
+		File file = output;
+		Thread thread = new Thread(() -> generate(members, monitor, file), "ezx-codegen-bulk");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * 在后台线程中执行：并行生成，按提交顺序收集结果
+	 */
+	private void generate(List<ICodeNodeRef> members, ProgressMonitor monitor, File output) {
+		int threads = Math.max(1, Math.min(MAX_THREADS, decompiler.getArgs().getThreadsCount()));
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "ezx-codegen-bulk-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+		AtomicBoolean canceled = new AtomicBoolean();
+		AtomicInteger done = new AtomicInteger();
+		try {
+			List<Future<String>> futures = new ArrayList<>(members.size());
+			for (ICodeNodeRef member : members) {
+				futures.add(executor.submit(() -> {
+					if (canceled.get()) {
+						return null;
+					}
+					String snippet = generateSnippet(member);
+					int progress = done.incrementAndGet();
+					// ProgressMonitor 只在界面线程中访问
+					guiContext.uiRun(() -> {
+						if (monitor.isCanceled()) {
+							canceled.set(true);
+						} else {
+							monitor.setProgress(progress);
+						}
+					});
+					return snippet;
+				}));
+			}
+			Runnable checkCanceled = () -> guiContext.uiRun(() -> {
+				if (monitor.isCanceled()) {
+					canceled.set(true);
+				}
+			});
+			StringBuilder sb = new StringBuilder();
+			for (Future<String> future : futures) {
+				String snippet = await(future, canceled, checkCanceled);
+				if (snippet == null) {
+					LOG.info("Bulk generation canceled after {} of {} members", done.get(), members.size());
+					return;
+				}
+				if (sb.length() > 0) {
+					sb.append("\n\n");
+				}
+				sb.append(snippet);
+			}
+			String payload = sb.toString();
+			if (output != null) {
+				Files.writeString(output.toPath(), payload, StandardCharsets.UTF_8);
+			}
+			guiContext.uiRun(() -> {
+				if (output == null) {
+					guiContext.copyToClipboard(payload);
+				}
+				JOptionPane.showMessageDialog(guiContext.getMainFrame(),
+						"已生成 " + members.size() + " 个成员的代码 / Generated code for " + members.size() + " members"
+								+ (output != null ? "\n" + output : ""));
+			});
+		} catch (Exception e) {
+			LOG.error("Bulk generation failed", e);
+			showError(e);
+		} finally {
+			executor.shutdownNow();
+			guiContext.uiRun(monitor::close);
+		}
+	}
+
+	/**
+	 * 等待结果，期间检查是否已取消
+	 *
+	 * @return 已取消时为 null
+	 */
+	private static String await(Future<String> future, AtomicBoolean canceled, Runnable checkCanceled)
+			throws InterruptedException, ExecutionException {
+		while (!canceled.get()) {
+			try {
+				return future.get(POLL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				checkCanceled.run();
+			} catch (CancellationException e) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	private String generateSnippet(ICodeNodeRef member) {
+		try {
+			return generator.getSnippet(member);
+		} catch (Exception e) {
+			LOG.warn("Failed to generate hook for {}", member, e);
+			return "// Failed to generate: " + member + " (" + e.getMessage() + ")";
+		}
+	}
+
+	private void showError(Exception e) {
+		guiContext.uiRun(() -> JOptionPane.showMessageDialog(guiContext.getMainFrame(),
+				"批量生成失败 / Bulk generation failed: " + e.getMessage(),
+				EzxCodegenPlugin.PLUGIN_ID, JOptionPane.ERROR_MESSAGE));
+	}
+
+	private File chooseOutput(String defaultName) {
+		JFileChooser chooser = new JFileChooser();
+		chooser.setSelectedFile(new File(defaultName));
+		if (chooser.showSaveDialog(guiContext.getMainFrame()) != JFileChooser.APPROVE_OPTION) {
+			return null;
+		}
+		return chooser.getSelectedFile();
+	}
+}
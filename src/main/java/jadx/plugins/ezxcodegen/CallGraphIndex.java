@@ -0,0 +1,98 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 整个 apk 的调用图：由加载 dex 时收集的使用信息（{@link MethodNode#getUseIn()}）得到调用者，
+ * 反向后得到被调用方法，不会触发反编译。
+ * <p>
+ * 被调用方法的反向表只在后台线程中并行构建一次，之后按层展开调用图只需查表。
+ */
+public class CallGraphIndex {
+	private static final Logger LOG = LoggerFactory.getLogger(CallGraphIndex.class);
+
+	private static volatile CallGraphIndex instance;
+
+	public enum Direction {
+		CALLERS,
+		CALLEES,
+	}
+
+	private final RootNode root;
+	/**
+	 * 方法 -> 它调用的应用内方法
+	 */
+	private final Map<MethodNode, List<MethodNode>> callees;
+
+	private CallGraphIndex(RootNode root) {
+		this.root = root;
+		long start = System.currentTimeMillis();
+		this.callees = root.getClasses().parallelStream()
+				.flatMap(cls -> cls.getMethods().stream())
+				.flatMap(mth -> mth.getUseIn().stream().map(caller -> Map.entry(caller, mth)))
+				.collect(Collectors.groupingByConcurrent(Map.Entry::getKey,
+						Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+		LOG.info("Built call graph index with {} callers in {}ms", callees.size(), System.currentTimeMillis() - start);
+	}
+
+	public static CallGraphIndex of(RootNode root) {
+		CallGraphIndex index = instance;
+		if (index == null || index.root != root) {
+			synchronized (CallGraphIndex.class) {
+				index = instance;
+				if (index == null || index.root != root) {
+					index = new CallGraphIndex(root);
+					instance = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	public static void invalidateAll() {
+		instance = null;
+	}
+
+	public List<MethodNode> getCallers(MethodNode mth) {
+		return mth.getUseIn();
+	}
+
+	public List<MethodNode> getCallees(MethodNode mth) {
+		return callees.getOrDefault(mth, Collections.emptyList());
+	}
+
+	/**
+	 * 按层展开调用图
+	 *
+	 * @param depth 展开的层数，1 为只包含直接调用者 / 被调用方法
+	 * @return 起始方法及展开得到的方法，按层的顺序排列
+	 */
+	public List<MethodNode> expand(MethodNode mth, Direction direction, int depth) {
+		Set<MethodNode> visited = new LinkedHashSet<>();
+		visited.add(mth);
+		List<MethodNode> layer = Collections.singletonList(mth);
+		for (int i = 0; i < depth && !layer.isEmpty(); i++) {
+			List<MethodNode> next = new ArrayList<>();
+			for (MethodNode node : layer) {
+				for (MethodNode neighbor : direction == Direction.CALLERS ? getCallers(node) : getCallees(node)) {
+					if (visited.add(neighbor)) {
+						next.add(neighbor);
+					}
+				}
+			}
+			layer = next;
+		}
+		return new ArrayList<>(visited);
+	}
+}
@@ -0,0 +1,127 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+
+import java.util.List;
+
+/**
+ * 生成结果自检：在 dex 模型上模拟执行查找链，检查是否恰好找到目标成员。
+ * <p>
+ * 候选成员与运行时一致，只包括声明类自身的成员（生成的代码不调用 {@code findSuper()}），
+ * 直接取自 {@link ClassIndex} 按名称缓存的索引，不重新扫描类，可用于批量生成中的每一段代码。
+ */
+public class ChainEvaluator {
+
+	public enum Status {
+		/**
+		 * 恰好匹配目标成员
+		 */
+		UNIQUE,
+		/**
+		 * 匹配多个成员，按下标取到的是目标成员
+		 */
+		INDEXED,
+		/**
+		 * 匹配多个成员，first() 可能取到其他成员
+		 */
+		AMBIGUOUS,
+		/**
+		 * 目标成员未被匹配
+		 */
+		EMPTY,
+	}
+
+	public static final class Result {
+		private final Status status;
+		private final int matches;
+
+		private Result(Status status, int matches) {
+			this.status = status;
+			this.matches = matches;
+		}
+
+		public Status getStatus() {
+			return status;
+		}
+
+		public int getMatches() {
+			return matches;
+		}
+
+		public boolean isOk() {
+			return status == Status.UNIQUE || status == Status.INDEXED;
+		}
+	}
+
+	private ChainEvaluator() {
+	}
+
+	public static Result evaluate(FilterChain chain) {
+		if (chain.getTarget() instanceof MethodNode) {
+			return evaluateMethod(chain, (MethodNode) chain.getTarget());
+		}
+		return evaluateField(chain, (FieldNode) chain.getTarget());
+	}
+
+	private static Result evaluateMethod(FilterChain chain, MethodNode target) {
+		List<MethodNode> candidates = ClassIndex.of(target.getParentClass()).getMethodsByName(target.getMethodInfo().getName());
+		List<MemberFilter> filters = chain.getAll();
+		int matches = 0;
+		int targetPos = -1;
+		for (MethodNode candidate : candidates) {
+			if (matchesAll(filters, candidate, target)) {
+				if (candidate == target) {
+					targetPos = matches;
+				}
+				matches++;
+			}
+		}
+		return toResult(chain, matches, targetPos);
+	}
+
+	private static Result evaluateField(FilterChain chain, FieldNode target) {
+		List<FieldNode> candidates = ClassIndex.of(target.getParentClass()).getFieldsByName(target.getFieldInfo().getName());
+		List<MemberFilter> filters = chain.getAll();
+		int matches = 0;
+		int targetPos = -1;
+		for (FieldNode candidate : candidates) {
+			if (matchesAll(filters, candidate, target)) {
+				if (candidate == target) {
+					targetPos = matches;
+				}
+				matches++;
+			}
+		}
+		return toResult(chain, matches, targetPos);
+	}
+
+	private static boolean matchesAll(List<MemberFilter> filters, MethodNode candidate, MethodNode target) {
+		for (MemberFilter filter : filters) {
+			if (!filter.matches(candidate, target)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean matchesAll(List<MemberFilter> filters, FieldNode candidate, FieldNode target) {
+		for (MemberFilter filter : filters) {
+			if (!filter.matches(candidate, target)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Result toResult(FilterChain chain, int matches, int targetPos) {
+		if (targetPos < 0) {
+			return new Result(Status.EMPTY, matches);
+		}
+		int index = chain.getIndex();
+		if (index >= 0) {
+			return new Result(index == targetPos ? Status.INDEXED : Status.AMBIGUOUS, matches);
+		}
+		return new Result(matches == 1 ? Status.UNIQUE : Status.AMBIGUOUS, matches);
+	}
+}
@@ -0,0 +1,101 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 批量生成时的类对象表：开启后生成器直接输出 {@link #handleName} 得到的变量名（见 {@link CodeEmitter#withClassHandles()}），
+ * 此表记录文件中用到的类，在文件末尾统一声明为延迟加载变量，同一个类在模块启动时只通过反射加载一次。
+ * <p>
+ * 只在写入文件的线程中使用，非线程安全。
+ */
+public class ClassHandleTable {
+	/**
+	 * 用到的类的原始名称，按类名排序输出
+	 */
+	private final Set<String> classNames = new TreeSet<>();
+
+	/**
+	 * 记录成员的代码中可能用到的类：声明类，以及参数、返回值、异常、字段类型中通过 {@code ClassUtils.loadClass} 加载的类。
+	 * 多声明的变量只是不会被用到，不影响编译
+	 */
+	public void addMember(ICodeNodeRef member, boolean optimize) {
+		classNames.add(Utils.getParentClass(member).getRawName());
+		if (member instanceof MethodNode) {
+			MethodNode mth = (MethodNode) member;
+			addTypes(mth.getMethodInfo().getArgumentsTypes(), optimize);
+			addType(mth.getMethodInfo().getReturnType(), optimize);
+			List<ArgType> throwTypes = mth.getThrows();
+			if (throwTypes != null) {
+				addTypes(throwTypes, optimize);
+			}
+		} else if (member instanceof FieldNode) {
+			addType(((FieldNode) member).getFieldInfo().getType(), optimize);
+		}
+	}
+
+	private void addTypes(List<ArgType> types, boolean optimize) {
+		for (ArgType type : types) {
+			addType(type, optimize);
+		}
+	}
+
+	private void addType(ArgType type, boolean optimize) {
+		String className = KotlinEmitter.getLoadedClassName(type, optimize);
+		if (className != null) {
+			classNames.add(className);
+		}
+	}
+
+	/**
+	 * 由类名得到变量名，不同类名得到的变量名一定不同：
+	 * 字母与数字保留，后接字母的 '.' 写为 '_'，其余字符写为 '_' 加数字：
+	 * '$' 为 _0，'_' 为 _1，其后不是字母的 '.' 为 _3，其他字符为 _2 加 4 位十六进制编码
+	 */
+	public static String handleName(String className) {
+		StringBuilder sb = new StringBuilder(className.length() + 8).append("cls_");
+		for (int i = 0, len = className.length(); i < len; i++) {
+			char c = className.charAt(i);
+			if (isAsciiLetter(c) || (c >= '0' && c <= '9')) {
+				sb.append(c);
+			} else if (c == '.') {
+				sb.append(i + 1 < len && isAsciiLetter(className.charAt(i + 1)) ? "_" : "_3");
+			} else if (c == '$') {
+				sb.append("_0");
+			} else if (c == '_') {
+				sb.append("_1");
+			} else {
+				sb.append("_2").append(String.format("%04x", (int) c));
+			}
+		}
+		return sb.toString();
+	}
+
+	private static boolean isAsciiLetter(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	public boolean isEmpty() {
+		return classNames.isEmpty();
+	}
+
+	public void write(Writer writer) throws IOException {
+		writer.write("\n// Class handles, loaded on first use\n");
+		StringBuilder sb = new StringBuilder();
+		for (String className : classNames) {
+			sb.setLength(0);
+			sb.append("val ").append(handleName(className)).append(" by lazy { ClassUtils.loadClass(\"");
+			KotlinEmitter.INSTANCE.appendStringContent(className, sb);
+			sb.append("\") }\n");
+			writer.write(sb.toString());
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单个类的成员索引：方法按方法名、按“方法名 + 参数类型”分组，字段按字段名分组，
+ * 构建一次后复用，避免每生成一个成员都完整扫描一次 {@link ClassNode#getMethods()} / {@link ClassNode#getFields()}
+ */
+public class ClassIndex {
+	/**
+	 * 重新加载项目后 ClassNode 会重新创建，需调用 {@link #invalidateAll()} 清空
+	 */
+	private static final Map<ClassNode, ClassIndex> CACHE = new ConcurrentHashMap<>();
+
+	private final ClassNode cls;
+	private final Map<String, List<MethodNode>> methodsByName;
+	private final Map<String, Map<List<ArgType>, List<MethodNode>>> methodsBySignature;
+	private final Map<String, List<FieldNode>> fieldsByName;
+
+	private ClassIndex(ClassNode cls) {
+		this.cls = cls;
+		List<MethodNode> methods = cls.getMethods();
+		this.methodsByName = new HashMap<>(methods.size());
+		this.methodsBySignature = new HashMap<>(methods.size());
+		for (MethodNode mth : methods) {
+			String name = mth.getMethodInfo().getName();
+			methodsByName.computeIfAbsent(name, k -> new ArrayList<>(1)).add(mth);
+			methodsBySignature.computeIfAbsent(name, k -> new HashMap<>(1))
+					.computeIfAbsent(mth.getMethodInfo().getArgumentsTypes(), k -> new ArrayList<>(1))
+					.add(mth);
+		}
+		List<FieldNode> fields = cls.getFields();
+		this.fieldsByName = new HashMap<>(fields.size());
+		for (FieldNode fld : fields) {
+			fieldsByName.computeIfAbsent(fld.getFieldInfo().getName(), k -> new ArrayList<>(1)).add(fld);
+		}
+	}
+
+	public static ClassIndex of(ClassNode cls) {
+		ClassIndex index = CACHE.computeIfAbsent(cls, ClassIndex::new);
+		if (index.cls != cls) {
+			// ClassNode 按类名判等，旧项目遗留的索引需要替换
+			index = new ClassIndex(cls);
+			CACHE.put(cls, index);
+		}
+		return index;
+	}
+
+	public static void invalidateAll() {
+		CACHE.clear();
+	}
+
+	/**
+	 * 流式批量生成时释放已处理完的类
+	 */
+	public static void invalidate(ClassNode cls) {
+		CACHE.remove(cls);
+	}
+
+	public List<MethodNode> getMethodsByName(String name) {
+		return methodsByName.getOrDefault(name, Collections.emptyList());
+	}
+
+	/**
+	 * 获取同名且参数类型相同的方法（包括 mth 本身）
+	 */
+	public List<MethodNode> getMethodsBySignature(MethodNode mth) {
+		Map<List<ArgType>, List<MethodNode>> byArgs = methodsBySignature.get(mth.getMethodInfo().getName());
+		if (byArgs == null) {
+			return Collections.emptyList();
+		}
+		return byArgs.getOrDefault(mth.getMethodInfo().getArgumentsTypes(), Collections.emptyList());
+	}
+
+	public List<FieldNode> getFieldsByName(String name) {
+		return fieldsByName.getOrDefault(name, Collections.emptyList());
+	}
+
+	/**
+	 * 获取与 mth 同名且参数类型相同的其他方法（如桥接方法）。
+	 * <p>
+	 * 生成的 {@code MethodFinder.fromClass} 只枚举声明类自身的方法（不调用 {@code findSuper()}），
+	 * 父类中的同签名方法在运行时不会成为候选，无需区分。
+	 */
+	public static List<MethodNode> getConfusedMethods(MethodNode mth) {
+		return others(of(mth.getParentClass()).getMethodsBySignature(mth), mth);
+	}
+
+	/**
+	 * 获取与 fld 同名的其他字段，同样只包括声明类自身的字段
+	 */
+	public static List<FieldNode> getConfusedFields(FieldNode fld) {
+		return others(of(fld.getParentClass()).getFieldsByName(fld.getFieldInfo().getName()), fld);
+	}
+
+	private static <T> List<T> others(List<T> same, T target) {
+		if (same.size() <= 1) {
+			return Collections.emptyList();
+		}
+		List<T> result = new ArrayList<>(same.size() - 1);
+		for (T other : same) {
+			if (other != target) {
+				result.add(other);
+			}
+		}
+		return result;
+	}
+}
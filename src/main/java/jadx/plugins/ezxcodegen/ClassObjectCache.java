@@ -0,0 +1,109 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.core.dex.instructions.args.ArgType;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * ArgType -> 类对象表达式（如 {@code Int::class.java}）的缓存。
+ * <p>
+ * 批量生成时同一批类型会被反复渲染，此处按 (ArgType, 是否优化) 缓存渲染结果，线程安全。
+ * 命中只是一次无锁查找；容量有上限，超出后由一个线程淘汰约四分之一的条目（近似淘汰，不保证最近最少使用）。
+ */
+public class ClassObjectCache {
+	private final int capacity;
+	private final ConcurrentHashMap<Key, String> cache;
+	private final AtomicBoolean evicting = new AtomicBoolean();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public ClassObjectCache(int capacity) {
+		this.capacity = capacity;
+		this.cache = new ConcurrentHashMap<>(64);
+	}
+
+	public String get(ArgType type, boolean optimize, BiFunction<ArgType, Boolean, String> renderer) {
+		Key key = new Key(type, optimize);
+		String value = cache.get(key);
+		if (value != null) {
+			hits.increment();
+			return value;
+		}
+		misses.increment();
+		// 渲染不加锁，并发时可能重复渲染同一类型，结果相同
+		value = renderer.apply(type, optimize);
+		if (cache.putIfAbsent(key, value) == null && cache.size() > capacity) {
+			evict();
+		}
+		return value;
+	}
+
+	/**
+	 * 同一时间只有一个线程淘汰，其他线程直接返回，不等待
+	 */
+	private void evict() {
+		if (!evicting.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			int target = capacity - capacity / 4;
+			Iterator<Key> it = cache.keySet().iterator();
+			while (cache.size() > target && it.hasNext()) {
+				it.next();
+				it.remove();
+			}
+		} finally {
+			evicting.set(false);
+		}
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public int size() {
+		return cache.size();
+	}
+
+	public void clear() {
+		cache.clear();
+		hits.reset();
+		misses.reset();
+	}
+
+	private static final class Key {
+		private final ArgType type;
+		private final boolean optimize;
+
+		private Key(ArgType type, boolean optimize) {
+			this.type = type;
+			this.optimize = optimize;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return optimize == other.optimize && type.equals(other.type);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * type.hashCode() + (optimize ? 1 : 0);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+
+/**
+ * 代码输出后端：把与语言无关的查找链（{@link FilterChain}）输出为具体语言的代码。
+ * <p>
+ * 实现类无状态，可在多个线程中共享。
+ */
+public interface CodeEmitter {
+
+	void appendClass(ClassNode cls, CustomOptions options, StringBuilder sb);
+
+	void appendField(FilterChain chain, CustomOptions options, StringBuilder sb);
+
+	void appendMethod(FilterChain chain, CustomOptions options, StringBuilder sb);
+
+	/**
+	 * 按特征（DexKit）查找并 hook 方法，运行时需要名为 {@code bridge} 的 DexKitBridge
+	 */
+	void appendFeatureMethod(MethodNode mth, MethodFeatures features, CustomOptions options, StringBuilder sb);
+
+	/**
+	 * 类对象表达式，如 {@code Int::class.java}、{@code int.class}
+	 */
+	String classObject(ArgType type, boolean optimize);
+
+	ClassObjectCache getClassObjectCache();
+
+	/**
+	 * 批量生成时类对象输出为 {@link ClassHandleTable} 变量名的版本，不支持文件级变量的语言返回自身
+	 */
+	default CodeEmitter withClassHandles() {
+		return this;
+	}
+
+	/**
+	 * 按类合并查找时，函数开头一次性枚举类成员的声明，查找链通过 {@link FilterChain#getMemberList()} 引用
+	 *
+	 * @param finder Method / Constructor / Field
+	 */
+	void appendMemberList(String finder, String variable, ClassNode cls, StringBuilder sb);
+
+	/**
+	 * 运行时缓存查找结果的 HookResolver 源码，开启“运行时缓存”选项时生成的代码依赖它
+	 */
+	String getResolverSource();
+
+	/**
+	 * 生成的代码是否用到 {@link #getResolverSource()}，批量生成时据此在文件末尾附加源码
+	 */
+	default boolean usesResolver(CustomOptions options) {
+		return options.isResolverCacheEnable();
+	}
+
+	/**
+	 * 批量生成的文件扩展名
+	 */
+	String getFileExtension();
+
+	String fileHeader();
+
+	String fileFooter();
+
+	/**
+	 * 批量生成时包裹一个类的全部代码的函数
+	 */
+	String functionStart(String name);
+
+	String functionEnd();
+
+	/**
+	 * 函数体的缩进
+	 */
+	String bodyIndent();
+}
@@ -1,347 +1,331 @@
 package jadx.plugins.ezxcodegen;
 
 import jadx.api.JadxDecompiler;
-import jadx.api.JavaClass;
-import jadx.api.JavaField;
-import jadx.api.JavaMethod;
-import jadx.api.JavaNode;
 import jadx.api.metadata.ICodeNodeRef;
 import jadx.api.plugins.gui.JadxGuiContext;
-import jadx.core.dex.info.AccessInfo;
-import jadx.core.dex.info.MethodInfo;
-import jadx.core.dex.instructions.args.ArgType;
+import jadx.api.plugins.input.data.AccessFlags;
 import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.core.utils.exceptions.JadxRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 public class CodeGenerator implements Consumer<ICodeNodeRef> {
+	private static final Logger LOG = LoggerFactory.getLogger(CodeGenerator.class);
+
 	private final JadxGuiContext guiContext;
 	private final JadxDecompiler decompiler;
 	private final CustomOptions options;
 	/**
-	 * 每一行已生成的 ParamTypes 代码长度
+	 * 点击生成时使用的缓存，批量生成时为 null
+	 */
+	private final SnippetCache snippetCache;
+	/**
+	 * 类对象输出为 {@link ClassHandleTable} 中的变量名，只用于批量生成
 	 */
-	private int paramTypesGenLength;
-
-	private static final Map<String, String> PRIMITIVE_TYPE_MAPPING = Map.of(
-			"int", "Int",
-			"byte", "Byte",
-			"short", "Short",
-			"long", "Long",
-			"float", "Float",
-			"double", "Double",
-			"char", "Char",
-			"boolean", "Boolean",
-			"void", "Void");
+	private final boolean classHandles;
+
+	/**
+	 * 每个线程复用的代码缓冲区，超过上限的缓冲区不再复用以免长期占用内存
+	 */
+	private static final ThreadLocal<StringBuilder> SNIPPET_BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+	private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+	/**
+	 * 强制生成访问修饰符时输出的修饰符，按输出顺序
+	 */
+	private static final int[] FORCED_MODIFIERS = {
+			AccessFlags.ABSTRACT,
+			AccessFlags.NATIVE,
+			AccessFlags.STATIC,
+			AccessFlags.FINAL,
+			AccessFlags.VARARGS,
+	};
 
 	public CodeGenerator(JadxGuiContext guiContext, JadxDecompiler decompiler, CustomOptions options) {
+		this(guiContext, decompiler, options, null);
+	}
+
+	public CodeGenerator(JadxGuiContext guiContext, JadxDecompiler decompiler, CustomOptions options, SnippetCache snippetCache) {
+		this(guiContext, decompiler, options, snippetCache, false);
+	}
+
+	private CodeGenerator(JadxGuiContext guiContext, JadxDecompiler decompiler, CustomOptions options, SnippetCache snippetCache,
+			boolean classHandles) {
 		this.guiContext = guiContext;
 		this.decompiler = decompiler;
 		this.options = options;
+		this.snippetCache = snippetCache;
+		this.classHandles = classHandles;
+	}
+
+	/**
+	 * 输出类对象变量名（{@link CodeEmitter#withClassHandles()}）的生成器，不使用点击生成的缓存
+	 */
+	public CodeGenerator withClassHandles() {
+		return new CodeGenerator(guiContext, decompiler, options, null, true);
+	}
+
+	private CodeEmitter emitter() {
+		CodeEmitter emitter = options.getLanguage().getEmitter();
+		return classHandles ? emitter.withClassHandles() : emitter;
 	}
 
 	@Override
 	public void accept(ICodeNodeRef iCodeNodeRef) {
-		this.paramTypesGenLength = 0;
-		JavaNode node = decompiler.getJavaNodeByRef(iCodeNodeRef);
-		String snippet = generateXposedSnippet(node);
-		guiContext.copyToClipboard(snippet);
+		if (options.isFeatureLookupEnable() && FeatureIndex.getIfBuilt(decompiler.getRoot()) == null) {
+			// 特征索引仍在构建，在后台线程中等待并生成，不阻塞界面线程
+			Thread thread = new Thread(() -> {
+				try {
+					String snippet = generateClickSnippet(iCodeNodeRef);
+					guiContext.uiRun(() -> guiContext.copyToClipboard(snippet));
+				} catch (Exception e) {
+					LOG.error("Code generation failed for {}", iCodeNodeRef, e);
+				}
+			}, "ezx-codegen-click");
+			thread.setDaemon(true);
+			thread.start();
+			return;
+		}
+		guiContext.copyToClipboard(generateClickSnippet(iCodeNodeRef));
 	}
 
-	private String generateXposedSnippet(JavaNode node) {
-		if (node instanceof JavaMethod) {
-			return generateMethodSnippet((JavaMethod) node);
-		}
-		if (node instanceof JavaClass) {
-			return generateClassSnippet((JavaClass) node);
-		}
-		if (node instanceof JavaField) {
-			return generateFieldSnippet((JavaField) node);
+	private String generateClickSnippet(ICodeNodeRef iCodeNodeRef) {
+		// 直接使用节点的元数据，不经过 JavaNode 包装，避免触发所在类的反编译
+		String snippet = getSnippet(Utils.toNode(decompiler, iCodeNodeRef));
+		if (options.isDebugEnable()) {
+			snippet += "\n// Stats: " + GenerationStats.summary(snippetCache);
 		}
-		throw new JadxRuntimeException("Unsupported node type: " + (node != null ? node.getClass() : "null"));
+		return snippet;
 	}
 
-	private String generateClassSnippet(JavaClass javaClass) {
-		String rawClassName = javaClass.getRawName();
-		String shortClassName = Utils.lowerCaseFirst(javaClass.getName());
-
-		String javaXposedFormatStr =
-				"ClassLoader classLoader = lpparam.classLoader;\n"
-						+ "Class<?> %sClass = classLoader.loadClass(\"%s\");";
-		String kotlinXposedFormatStr = "val %sClass = ClassUtils.loadClass(\"%s\")";
-
-		/*XposedCodegenLanguage language = getLanguage();
-		String xposedFormatStr;
-		switch (language) {
-			case JAVA:
-				xposedFormatStr = javaXposedFormatStr;
-				break;
-			case KOTLIN:
-				xposedFormatStr = kotlinXposedFormatStr;
-				break;
-			default:
-				throw new JadxRuntimeException("Invalid Xposed code generation language: " + language);
-		}*/
-
-		return String.format(kotlinXposedFormatStr, shortClassName, rawClassName);
+	String getMethodSnippet(MethodNode mth) {
+		return cached(mth.getMethodInfo().getRawFullId(), () -> generateMethodSnippet(mth));
 	}
 
-	private String generateFieldSnippet(JavaField javaField) {
-		String isStatic = javaField.getAccessFlags().isStatic() ? "Static" : "";
-		String type = PRIMITIVE_TYPE_MAPPING.getOrDefault(javaField.getFieldNode().getType().toString(), "Object");
-		String xposedMethod = "XposedHelpers.get" + isStatic + type + "Field";
-		// Ezxhelper是获取field
-		// FieldFinder.fromClass(vipResponseClz).filterByType(Any::class.java).first()
-
-		String javaXposedFormatStr =
-				"%s(/*runtimeObject*/, \"%s\");";
-		String kotlinXposedFormatStr =
-				"%s(/*runtimeObject*/, \"%s\")";
-
-		/*XposedCodegenLanguage language = getLanguage();
-		String xposedFormatStr;
-		switch (language) {
-			case JAVA:
-				xposedFormatStr = javaXposedFormatStr;
-				break;
-			case KOTLIN:
-				xposedFormatStr = kotlinXposedFormatStr;
-				break;
-			default:
-				throw new JadxRuntimeException("Invalid Xposed code generation language: " + language);
-		}*/
-
-		return String.format(kotlinXposedFormatStr, xposedMethod, javaField.getFieldNode().getFieldInfo().getName());
+	String getClassSnippet(ClassNode cls) {
+		return cached(cls.getRawName(), () -> generateClassSnippet(cls));
 	}
 
-	private String generateMethodSnippet(JavaMethod jMth) {
-		MethodNode mth = jMth.getMethodNode();
-		String methodPart;
-		String xposedMethod;
-		if (mth.isConstructor()) {
-			xposedMethod = "ConstructorFinder";
-			methodPart = "";
-		} else {
-			xposedMethod = "MethodFinder";
-			methodPart = generateMethodPart(mth);
-		}
+	String getFieldSnippet(FieldNode fld) {
+		return cached(fld.getFieldInfo().getRawFullId(), () -> generateFieldSnippet(fld));
+	}
 
-		// kotlin need to escape $ (should $+num be changed? )
-		String rawClassName = jMth.getDeclaringClass().getRawName().replaceAll("\\$", "\\\\\\$");
-		String javaXposedFormatStr = "";
-		String kotlinXposedFormatStr = "%s.fromClass(\"%s\")%s%s.first().createHook {\n" +
-				"        before {\n" +
-				"            \n" +
-				"        }\n" +
-				"    }";
-
-		// todo support java
-		String xposedFormatStr = kotlinXposedFormatStr;
-
-		/*XposedCodegenLanguage language = getLanguage();
-		String xposedFormatStr;
-		switch (language) {
-			case JAVA:
-				xposedFormatStr = javaXposedFormatStr;
-				break;
-			case KOTLIN:
-				xposedFormatStr = kotlinXposedFormatStr;
-				break;
-			default:
-				throw new JadxRuntimeException("Invalid Xposed code generation language: " + language);
-		}*/
-
-		List<ArgType> mthArgs = mth.getArgTypes();
-		if (mthArgs.isEmpty()) {
-			// 无参方法，若直接不筛选参数，因为条件较松，若存在同名方法，可能会使xposed使用到其他方法。
-			// 所以此处增加限制筛选无参数
-			if (Utils.anyOtherSameNameMethod(mth)) {
-				return String.format(xposedFormatStr, xposedMethod, rawClassName, methodPart, "\n    .filterByParamCount(0)\n");
-			}
-			return String.format(xposedFormatStr, xposedMethod, rawClassName, methodPart, "");
+	/**
+	 * 按节点类型获取代码，可在多个线程中并发调用
+	 */
+	public String getSnippet(ICodeNodeRef nodeRef) {
+		if (nodeRef instanceof MethodNode) {
+			return getMethodSnippet((MethodNode) nodeRef);
 		}
-
-		String params = genParamsType(mth);
-		if (params.endsWith("\n")) {
-			params = params.substring(0, params.length() - 1) + genReturnTypeFilter(mth) + "\n    ";
-		} else {
-			params += genReturnTypeFilter(mth);
+		if (nodeRef instanceof FieldNode) {
+			return getFieldSnippet((FieldNode) nodeRef);
 		}
-		return String.format(xposedFormatStr, xposedMethod, rawClassName, methodPart, params);
-	}
-
-
-	private String genAllAccessFilter(MethodNode mth) {
-		if (options.isEnableMethodAccess()) {
-			return genAccessModifierCode(mth);
+		if (nodeRef instanceof ClassNode) {
+			return getClassSnippet((ClassNode) nodeRef);
 		}
-		return "";
+		throw new JadxRuntimeException("Unsupported node type: " + nodeRef);
 	}
 
-	private String genParamsType(MethodNode mth) {
-		List<ArgType> mthArgs = mth.getArgTypes();
-		String params = mthArgs.stream()
-				.map(this::genParam)
-				.collect(Collectors.joining());
-		params = params.substring(0, params.length() - 2);
-		if (params.contains("\n")) {
-			params = "\n    .filterByParamTypes(\n        " + params.trim() + "\n    )";
-		} else {
-			params = "\n    .filterByParamTypes(" + params + ")\n";
+	/**
+	 * 优先从缓存获取，未命中时生成并放入缓存
+	 */
+	private String cached(String rawId, Supplier<String> generator) {
+		if (snippetCache == null) {
+			return generator.get();
+		}
+		String key = SnippetCache.key(rawId, options);
+		String snippet = snippetCache.get(key);
+		if (snippet == null) {
+			snippet = generator.get();
+			snippetCache.put(key, snippet);
 		}
-		return params;
+		return snippet;
 	}
 
-	private String genReturnTypeFilter(MethodNode mth) {
-		if (options.isEnableMethodReturnType()) {
-			return genReturnTypeCode(mth, options.isClassOptimizationEnable());
+	/**
+	 * 预先生成类（包括内部类）中所有方法与字段的代码并放入缓存
+	 */
+	void precompute(ClassNode cls) {
+		if (snippetCache == null) {
+			return;
+		}
+		getClassSnippet(cls);
+		for (MethodNode mth : cls.getMethods()) {
+			if (!mth.getMethodInfo().isClassInit()) {
+				getMethodSnippet(mth);
+			}
+		}
+		for (FieldNode fld : cls.getFields()) {
+			getFieldSnippet(fld);
+		}
+		for (ClassNode innerCls : cls.getInnerClasses()) {
+			precompute(innerCls);
 		}
-		return "";
 	}
 
-	private String genParam(ArgType type) {
-		int limit = paramTypesGenLength == 0 ? 45 : 75;
-		String s = genClassObject(type, options.isClassOptimizationEnable()) + ", ";
-		paramTypesGenLength += s.length();
-		if (paramTypesGenLength >= limit) {
-			s = "\n        " + s;
-			paramTypesGenLength = s.length();
-		}
+	String generateClassSnippet(ClassNode cls) {
+		StringBuilder sb = obtainBuilder();
+		appendClassSnippet(cls, sb);
+		return sb.toString();
+	}
 
-		return s;
+	String generateFieldSnippet(FieldNode fld) {
+		return generateFieldSnippet(fld, null);
 	}
 
-	public static Predicate<MethodNode> isConfusedMethodWith(MethodNode mth) {
-		MethodInfo methodInfo = mth.getMethodInfo();
-		return otherMth -> {
-			MethodInfo otherMethodInfo = otherMth.getMethodInfo();
-			return otherMth != mth && otherMethodInfo.getName().equals(methodInfo.getName()) &&
-					otherMethodInfo.getArgumentsTypes().equals(methodInfo.getArgumentsTypes());
-		};
+	/**
+	 * @param memberList 按类合并查找时共用的成员列表变量名，见 {@link FinderGroups}
+	 */
+	String generateFieldSnippet(FieldNode fld, String memberList) {
+		StringBuilder sb = obtainBuilder();
+		appendFieldSnippet(fld, memberList, sb);
+		return sb.toString();
 	}
 
-	private String generateMethodPart(MethodNode mth) {
-		StringBuilder methodPart = new StringBuilder();
-		if (options.isDebugEnable()) {
-			methodPart.append("\n    // ").append(Utils.getMethodString(mth));
+	/**
+	 * 获取当前线程复用的 StringBuilder
+	 */
+	private static StringBuilder obtainBuilder() {
+		StringBuilder sb = SNIPPET_BUILDER.get();
+		if (sb.capacity() > MAX_POOLED_CAPACITY) {
+			sb = new StringBuilder(1024);
+			SNIPPET_BUILDER.set(sb);
 		}
-		methodPart.append(genAllAccessFilter(mth));
-		methodPart.append("\n    .filterByName(\"").append(mth.getMethodInfo().getName()).append("\")");
+		sb.setLength(0);
+		return sb;
+	}
 
-		ClassNode classNode = mth.getParentClass();
-		List<MethodNode> sameMethodNodes = classNode.getMethods().stream()
-				.filter(isConfusedMethodWith(mth))
-				.collect(Collectors.toList());
+	private void appendClassSnippet(ClassNode cls, StringBuilder sb) {
+		emitter().appendClass(cls, options, sb);
+	}
 
-		if (sameMethodNodes.isEmpty()) {
-			return methodPart.toString();
-		}
+	private void appendFieldSnippet(FieldNode fld, String memberList, StringBuilder sb) {
+		FilterChain chain = buildFieldChain(fld, memberList);
+		appendSelfCheck(chain, "fields", sb);
+		emitter().appendField(chain, options, sb);
+	}
 
-		if (options.isDebugEnable()) {
-			methodPart.append("\n    // Found methods with duplicate names and parameter types\n    // 1. Try checking access flag");
-		}
-		// 检查访问修饰符
-		Comparator comparator = new Comparator(mth, sameMethodNodes, options);
-		String result = comparator.searchUniqueModifier();
-		if (Utils.isNotEmpty(result)) {
-			// 可唯一，直接添加全部强制过滤代码
-			if (options.isEnableMethodAccess()) {
-				return methodPart.append(genReturnTypeFilter(mth)).toString();
+	FilterChain buildFieldChain(FieldNode fld, String memberList) {
+		FilterChain.Builder builder = FilterChain.builder(fld).memberList(memberList).leading(MemberFilter.NAME);
+		List<FieldNode> confusedFields = ClassIndex.getConfusedFields(fld);
+		if (!confusedFields.isEmpty()) {
+			FieldComparator comparator = new FieldComparator(fld, confusedFields, options);
+			List<MemberFilter> uniqueFilters = comparator.searchUniqueFilters();
+			builder.unique(uniqueFilters);
+			if (uniqueFilters == null) {
+				builder.index(comparator.getDeclarationIndex());
 			}
-			methodPart.append(result);
-			return methodPart.toString();
 		}
-		// 检查返回值类型
+		return builder.build();
+	}
+
+	String generateMethodSnippet(MethodNode mth) {
+		return generateMethodSnippet(mth, null);
+	}
+
+	/**
+	 * @param memberList 按类合并查找时共用的成员列表变量名，见 {@link FinderGroups}
+	 */
+	String generateMethodSnippet(MethodNode mth, String memberList) {
+		long start = options.isDebugEnable() ? System.nanoTime() : 0;
+		StringBuilder sb = obtainBuilder();
+		appendMethodSnippet(mth, memberList, sb);
+		String snippet = sb.toString();
 		if (options.isDebugEnable()) {
-			methodPart.append("\n    // 2. Try checking the return type");
+			GenerationStats.recordSnippet(System.nanoTime() - start);
 		}
-		String uniqueReturnType = comparator.searchUniqueReturnType();
-		if (Utils.isNotEmpty(uniqueReturnType)) {
-			if (options.isEnableMethodReturnType()) {
-				return methodPart.toString();
+		return snippet;
+	}
+
+	/**
+	 * 将方法的 hook 代码直接写入 sb，不依赖实例状态，可在多个线程中并发调用
+	 */
+	void appendMethodSnippet(MethodNode mth, String memberList, StringBuilder sb) {
+		if (options.isFeatureLookupEnable()) {
+			MethodFeatures features = FeatureIndex.of(mth.root()).searchUniqueFeatures(mth, options.isDebugEnable());
+			if (features != null) {
+				emitter().appendFeatureMethod(mth, features, options, sb);
+				return;
 			}
-			return methodPart.append(uniqueReturnType).toString();
+			sb.append("// Warning: No unique features found for this method, fall back to name based lookup.\n");
 		}
-
-		methodPart.append("\n    // Warning: Failed to retrieve unique condition for this method.\n");
-		return methodPart.toString();
+		FilterChain chain = buildMethodChain(mth, memberList);
+		appendSelfCheck(chain, "methods", sb);
+		emitter().appendMethod(chain, options, sb);
 	}
 
-	public static String genAccessModifierCode(MethodNode mth) {
-		AccessInfo accessFlags = mth.getAccessFlags();
-		StringBuilder sb = new StringBuilder();
-		if (accessFlags.isPublic()) {
-			sb.append("\n    .filterPublic()");
-		} else if (accessFlags.isPrivate()) {
-			sb.append("\n    .filterPrivate()");
-		} else if (accessFlags.isProtected()) {
-			sb.append("\n    .filterProtected()");
-		} else if (accessFlags.isPackagePrivate()) {
-			sb.append("\n    .filterPackagePrivate()");
-		}
+	/**
+	 * 生成方法的查找链，与输出格式无关，可用于校验
+	 */
+	FilterChain buildMethodChain(MethodNode mth) {
+		return buildMethodChain(mth, null);
+	}
 
-		if (accessFlags.isAbstract()) {
-			sb.append("\n    .filterAbstract()");
-		}
-		if (accessFlags.isNative()) {
-			sb.append("\n    .filterNative()");
-		}
-		if (accessFlags.isStatic()) {
-			sb.append("\n    .filterStatic()");
+	FilterChain buildMethodChain(MethodNode mth, String memberList) {
+		FilterChain.Builder builder = FilterChain.builder(mth).memberList(memberList);
+		if (!mth.isConstructor()) {
+			builder.leading(MemberFilter.NAME);
+			List<MethodNode> confusedMethods = ClassIndex.getConfusedMethods(mth);
+			if (!confusedMethods.isEmpty()) {
+				Comparator comparator = new Comparator(mth, confusedMethods, options);
+				List<MemberFilter> uniqueFilters = comparator.searchUniqueFilters();
+				builder.unique(uniqueFilters);
+				if (uniqueFilters == null) {
+					builder.index(comparator.getDeclarationIndex());
+				}
+			}
+			if (options.isEnableMethodAccess()) {
+				addAccessModifierFilters(mth, builder);
+			}
 		}
-		if (accessFlags.isFinal()) {
-			sb.append("\n    .filterFinal()");
+		if (mth.getArgTypes().isEmpty()) {
+			if (Utils.anyOtherSameNameMethod(mth)) {
+				builder.trailing(MemberFilter.PARAM_COUNT);
+			}
+		} else {
+			builder.trailing(MemberFilter.PARAM_TYPES);
 		}
-		if (accessFlags.isVarArgs()) {
-			sb.append("\n    .filterVarargs()");
+		if (options.isEnableMethodReturnType()) {
+			builder.trailing(MemberFilter.RETURN_TYPE);
 		}
-		return sb.toString();
+		return builder.build();
 	}
 
-	public static String genReturnTypeCode(MethodNode mth, boolean optimize) {
-		return "\n    .filterByReturnType(" + genClassObject(mth.getReturnType(), optimize) + ")";
-	}
-
-	public static String fixTypeContent(ArgType type) {
-		if (type.isGeneric()) {
-			return type.getObject();
-		} else if (type.isPrimitive()) { // ::class.javaPrimitiveType
-			return PRIMITIVE_TYPE_MAPPING.getOrDefault(type.getPrimitiveType().getLongName(), "Object");
-		} else if (type.isObject() && type.getObject().startsWith("java.lang.")) {
-			return type.getObject().substring(10);
-		} else if (type.isGenericType() && type.isObject() && type.isTypeKnown()) {
-			return "Object";
-		} else if (type.isArray()) {
-			// jvmMain/kotlin/Arrays.kt
-			return PRIMITIVE_TYPE_MAPPING.getOrDefault(type.getArrayElement().toString(), "") + "Array";
+	/**
+	 * 在 dex 模型上校验查找链，结果不唯一时在代码前加上警告
+	 */
+	private void appendSelfCheck(FilterChain chain, String members, StringBuilder sb) {
+		ChainEvaluator.Result result = ChainEvaluator.evaluate(chain);
+		if (result.isOk()) {
+			return;
+		}
+		if (options.isDebugEnable()) {
+			GenerationStats.recordSelfCheckFailure();
+		}
+		if (result.getStatus() == ChainEvaluator.Status.EMPTY) {
+			sb.append("// Warning: Self-check failed, the filters below do not match the target.\n");
+		} else {
+			sb.append("// Warning: Self-check found ").append(result.getMatches())
+					.append(" matching ").append(members).append(", the target may not be selected.\n");
 		}
-		// kotlin replace for inner class
-		return type.toString().replace("$", ".");
 	}
 
-	public static String genClassObject(ArgType type, boolean optimize) {
-		String baseClassName = fixTypeContent(type);
-		String classRepresentation = baseClassName + "::class.java";
-
-		if (baseClassName.contains(".")) {
-			if (optimize && !isSystemClassName(baseClassName)) {
-				classRepresentation = "ClassUtils.loadClass(\"" + baseClassName + "\")";
+	/**
+	 * 由“强制生成过滤访问修饰符代码”选项输出的条件，只包括目标方法拥有的修饰符
+	 */
+	private static void addAccessModifierFilters(MethodNode mth, FilterChain.Builder builder) {
+		int accessFlags = mth.getAccessFlags().rawValue();
+		builder.forced(MemberFilter.ACCESS);
+		for (int flag : FORCED_MODIFIERS) {
+			if ((accessFlags & flag) != 0) {
+				builder.forced(MemberFilter.modifier(flag, true));
 			}
 		}
-
-		return classRepresentation;
-	}
-
-
-	private static boolean isSystemClassName(String className) {
-		return className.startsWith("android.") || className.startsWith("androidx.") ||
-				className.startsWith("jdk.") || className.startsWith("dalvik.") ||
-				className.startsWith("java.") || className.startsWith("javax.");
 	}
 }
@@ -1,116 +1,214 @@
 package jadx.plugins.ezxcodegen;
 
+import jadx.api.plugins.input.data.AccessFlags;
+import jadx.api.plugins.input.data.annotations.AnnotationVisibility;
+import jadx.api.plugins.input.data.annotations.IAnnotation;
+import jadx.api.plugins.input.data.attributes.JadxAttrType;
+import jadx.api.plugins.input.data.attributes.types.AnnotationsAttr;
 import jadx.core.dex.instructions.args.ArgType;
 import jadx.core.dex.nodes.MethodNode;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 在声明类中同名同参数的方法（如桥接方法）中搜索能唯一确定目标方法的最小过滤条件组合。
+ * <p>
+ * 每个条件占一位，对每个其他方法计算“能区分它的条件”位掩码，
+ * 然后由 {@link CriteriaSolver} 按代价搜索覆盖全部掩码的最小条件集合。
+ */
 public class Comparator {
 
-	private static final Logger LOG = LoggerFactory.getLogger(Comparator.class);
+	private static final int ACCESS_MASK = AccessFlags.PUBLIC | AccessFlags.PRIVATE | AccessFlags.PROTECTED;
 
-	private final MethodNode mth;
-	private final List<MethodNode> otherMthNodes;
-	private final CustomOptions options;
+	/**
+	 * 条件位，顺序即为生成代码的顺序
+	 */
+	private static final int CR_ACCESS = 0;
+	private static final int CR_STATIC = 1;
+	private static final int CR_FINAL = 2;
+	private static final int CR_ABSTRACT = 3;
+	private static final int CR_VARARGS = 4;
+	private static final int CR_NATIVE = 5;
+	private static final int CR_SYNCHRONIZED = 6;
+	private static final int CR_PARAM_COUNT = 7;
+	private static final int CR_RETURN_TYPE = 8;
+	private static final int CR_EXCEPTIONS = 9;
+	private static final int CR_ANNOTATIONS = 10;
+	private static final int CR_BRIDGE = 11;
+	private static final int CRITERIA_COUNT = 12;
 
-	private static final Map<String, Function<MethodNode, Object>> ACCESS_FUNC_MAP = new HashMap<>();
 	/**
-	 * 可以组合的其他关键字
+	 * 各条件的代价：修饰符判断最便宜，需要加载类对象 / 比较数组的条件更贵
 	 */
-	private static final Map<String, Function<MethodNode, Object>> OTHER_FUNC_MAP = new HashMap<>();
+	private static final int[] COSTS = {1, 1, 1, 1, 1, 1, 1, 1, 2, 3, 4, 1};
 
-	static {
-		ACCESS_FUNC_MAP.put("filterPublic", m -> m.getAccessFlags().isPublic());
-		ACCESS_FUNC_MAP.put("filterPrivate", m -> m.getAccessFlags().isPrivate());
-		ACCESS_FUNC_MAP.put("filterProtected", m -> m.getAccessFlags().isProtected());
-		ACCESS_FUNC_MAP.put("filterPackagePrivate", m -> m.getAccessFlags().isPackagePrivate());
-	}
+	/**
+	 * 修饰符条件（CR_STATIC ~ CR_SYNCHRONIZED）对应的 AccessFlags 位
+	 */
+	private static final int[] MODIFIER_FLAGS = {
+			AccessFlags.STATIC,
+			AccessFlags.FINAL,
+			AccessFlags.ABSTRACT,
+			AccessFlags.VARARGS,
+			AccessFlags.NATIVE,
+			AccessFlags.SYNCHRONIZED,
+	};
+	private static final int ALL_CRITERIA = rangeMask(0, CRITERIA_COUNT - 1);
 
-	static {
-		OTHER_FUNC_MAP.put("filterStatic", m -> m.getAccessFlags().isStatic());
-		OTHER_FUNC_MAP.put("filterFinal", m -> m.getAccessFlags().isFinal());
-		OTHER_FUNC_MAP.put("filterAbstract", m -> m.getAccessFlags().isAbstract());
-		OTHER_FUNC_MAP.put("filterVarargs", m -> m.getAccessFlags().isVarArgs());
-		OTHER_FUNC_MAP.put("filterNative", m -> m.getAccessFlags().isNative());
-	}
+	private final MethodNode mth;
+	private final List<MethodNode> otherMthNodes;
+	private final CustomOptions options;
 
+	/**
+	 * 每个其他方法可被哪些条件区分（去重），0 表示无法区分
+	 */
+	private final int[] distinguishMasks;
 
 	public Comparator(MethodNode mth, List<MethodNode> otherMthNodes, CustomOptions options) {
 		this.mth = mth;
 		this.otherMthNodes = otherMthNodes;
 		this.options = options;
+		this.distinguishMasks = buildDistinguishMasks();
+	}
+
+	private static int rangeMask(int from, int to) {
+		return ((1 << (to + 1)) - 1) & ~((1 << from) - 1);
+	}
+
+	private int[] buildDistinguishMasks() {
+		int targetFlags = mth.getAccessFlags().rawValue();
+		int[] masks = new int[otherMthNodes.size()];
+		int count = 0;
+		for (MethodNode other : otherMthNodes) {
+			int otherFlags = other.getAccessFlags().rawValue();
+			int mask = 0;
+			if ((otherFlags & ACCESS_MASK) != (targetFlags & ACCESS_MASK)) {
+				mask |= 1 << CR_ACCESS;
+			}
+			int diffFlags = otherFlags ^ targetFlags;
+			for (int i = 0; i < MODIFIER_FLAGS.length; i++) {
+				if ((diffFlags & MODIFIER_FLAGS[i]) != 0) {
+					mask |= 1 << (CR_STATIC + i);
+				}
+			}
+			if (other.getArgTypes().size() != mth.getArgTypes().size()) {
+				mask |= 1 << CR_PARAM_COUNT;
+			}
+			if (!other.getReturnType().equals(mth.getReturnType())) {
+				mask |= 1 << CR_RETURN_TYPE;
+			}
+			if (!getThrows(other).equals(getThrows(mth))) {
+				mask |= 1 << CR_EXCEPTIONS;
+			}
+			if (!getRuntimeAnnotations(other).equals(getRuntimeAnnotations(mth))) {
+				mask |= 1 << CR_ANNOTATIONS;
+			}
+			if ((diffFlags & AccessFlags.BRIDGE) != 0) {
+				mask |= 1 << CR_BRIDGE;
+			}
+			masks[count++] = mask;
+		}
+		return CriteriaSolver.distinct(masks, count);
 	}
 
 	/**
-	 * 搜索判断符合某单一条件的方法是否唯一
-	 *
-	 * @param retrieveFunc 检索“某单一条件”的方法引用
-	 * @return 是否唯一
+	 * 已由“强制生成”选项输出的条件，代价为 0 且无需重复生成
 	 */
-	public boolean isUnique(Function<MethodNode, Object> retrieveFunc) {
-		Object targetValue = retrieveFunc.apply(mth);
-		return otherMthNodes.stream().noneMatch(m -> retrieveFunc.apply(m) == targetValue);
+	private int getPreselected() {
+		int preselected = 0;
+		if (options.isEnableMethodAccess()) {
+			// 强制生成时只输出目标方法拥有的修饰符（不含 synchronized）
+			int targetFlags = mth.getAccessFlags().rawValue();
+			preselected |= 1 << CR_ACCESS;
+			for (int i = 0; i < MODIFIER_FLAGS.length; i++) {
+				if (MODIFIER_FLAGS[i] != AccessFlags.SYNCHRONIZED && (targetFlags & MODIFIER_FLAGS[i]) != 0) {
+					preselected |= 1 << (CR_STATIC + i);
+				}
+			}
+		}
+		if (options.isEnableMethodReturnType()) {
+			preselected |= 1 << CR_RETURN_TYPE;
+		}
+		return preselected;
+	}
+
+	private int solve(int allowed) {
+		return CriteriaSolver.solve(distinguishMasks, getPreselected(), allowed, COSTS, options.isDebugEnable());
 	}
 
 	/**
-	 * 搜索判断符合多种并列条件的方法是否唯一
+	 * 搜索所有条件中代价最小的唯一组合
 	 *
-	 * @param retrieveFuncs 检索“多种并列条件”的方法引用
-	 * @return 是否唯一
+	 * @return 过滤条件，无需额外条件时为空列表，无法唯一确定时为 null
 	 */
-	public boolean isUnique(List<Function<MethodNode, Object>> retrieveFuncs) {
-		List<Object> targetValues = retrieveFuncs.stream().map(f -> f.apply(mth)).collect(Collectors.toList());
-		return otherMthNodes.stream().noneMatch(m -> {
-			List<Object> values = retrieveFuncs.stream().map(f -> f.apply(m)).collect(Collectors.toList());
-
-			return IntStream.range(0, values.size())
-					.allMatch(i -> values.get(i).equals(targetValues.get(i)));
-		});
+	public List<MemberFilter> searchUniqueFilters() {
+		int selected = solve(ALL_CRITERIA);
+		return selected < 0 ? null : genFilters(selected);
 	}
 
-	public String searchUniqueModifier() {
-		// standalone
-		for (Map.Entry<String, Function<MethodNode, Object>> entry : ACCESS_FUNC_MAP.entrySet()) {
-			LOG.info("Check: {}", entry.getKey());
-			if (isUnique(entry.getValue())) {
-				LOG.info("Got unique: {}", entry.getKey());
-				return "\n    ." + entry.getKey() + "()";
-			}
-		}
+	/**
+	 * 无法唯一确定时，目标方法在同名同参数方法中的声明顺序
+	 */
+	public int getDeclarationIndex() {
+		return ClassIndex.of(mth.getParentClass()).getMethodsBySignature(mth).indexOf(mth);
+	}
 
-		// will combine
-		for (int i = 1; i <= OTHER_FUNC_MAP.size(); i++) {
-			LOG.info("Searching for modifier {} of {}", i, otherMthNodes.size());
-			List<List<Map.Entry<String, Function<MethodNode, Object>>>> allCombinations = Utils.getAllCombinations(new ArrayList<>(OTHER_FUNC_MAP.entrySet()), i);
-			LOG.info("Got {} combinations", allCombinations.size());
-			for (List<Map.Entry<String, Function<MethodNode, Object>>> allCombination : allCombinations) {
-				// 检查每个组合是否唯一
-				List<Function<MethodNode, Object>> collect = allCombination.stream().map(Map.Entry::getValue).collect(Collectors.toList());
-				LOG.info("Check: {}", allCombination.stream().map(e -> "\n    ." + e.getKey() + "()").collect(Collectors.joining()));
-				if (isUnique(collect)) {
-					LOG.info("Got unique: 获取到唯一标识符");
-					return allCombination.stream().map(e -> "\n    ." + e.getKey() + "()").collect(Collectors.joining());
-				}
+	private List<MemberFilter> genFilters(int selected) {
+		int targetFlags = mth.getAccessFlags().rawValue();
+		List<MemberFilter> filters = new ArrayList<>(Integer.bitCount(selected));
+		for (int bits = selected; bits != 0; bits &= bits - 1) {
+			int criterion = Integer.numberOfTrailingZeros(bits);
+			switch (criterion) {
+				case CR_ACCESS:
+					filters.add(MemberFilter.ACCESS);
+					break;
+				case CR_PARAM_COUNT:
+					filters.add(MemberFilter.PARAM_COUNT);
+					break;
+				case CR_RETURN_TYPE:
+					filters.add(MemberFilter.RETURN_TYPE);
+					break;
+				case CR_EXCEPTIONS:
+					filters.add(MemberFilter.EXCEPTIONS);
+					break;
+				case CR_ANNOTATIONS:
+					filters.add(MemberFilter.ANNOTATIONS);
+					break;
+				case CR_BRIDGE:
+					filters.add(MemberFilter.bridge((targetFlags & AccessFlags.BRIDGE) != 0));
+					break;
+				default:
+					int flag = MODIFIER_FLAGS[criterion - CR_STATIC];
+					filters.add(MemberFilter.modifier(flag, (targetFlags & flag) != 0));
+					break;
 			}
-
 		}
+		return filters;
+	}
 
-		return "";
+	static List<ArgType> getThrows(MethodNode mth) {
+		List<ArgType> throwTypes = mth.getThrows();
+		return throwTypes == null ? Collections.emptyList() : throwTypes;
 	}
 
-	public String searchUniqueReturnType() {
-		ArgType mthReturnType = mth.getReturnType();
-		if (isUnique(m -> m.getReturnType().equals(mthReturnType))) {
-			return CodeGenerator.genReturnTypeCode(mth, options.isClassOptimizationEnable());
+	/**
+	 * 运行时可见的注解类名（反射只能获取到这部分注解）
+	 */
+	static Set<String> getRuntimeAnnotations(MethodNode mth) {
+		AnnotationsAttr annotationsAttr = mth.get(JadxAttrType.ANNOTATION_LIST);
+		if (annotationsAttr == null || annotationsAttr.isEmpty()) {
+			return Collections.emptySet();
+		}
+		Set<String> result = new TreeSet<>();
+		for (IAnnotation annotation : annotationsAttr.getAll()) {
+			if (annotation.getVisibility() == AnnotationVisibility.RUNTIME) {
+				result.add(Utils.descriptorToClassName(annotation.getAnnotationClass()));
+			}
 		}
-		return "";
+		return result;
 	}
 }
@@ -0,0 +1,94 @@
+package jadx.plugins.ezxcodegen;
+
+import java.util.Arrays;
+
+/**
+ * 最小过滤条件组合的搜索，方法与字段的比较器共用。
+ * <p>
+ * 每个条件占一位，distinguishMasks 中每一项表示“能区分某个其他成员的条件”，
+ * 搜索代价最小且与每一项都有交集的条件集合。
+ */
+public class CriteriaSolver {
+
+	private CriteriaSolver() {
+	}
+
+	/**
+	 * 掩码排序去重，多个其他成员只差同一组条件时只需检查一次
+	 */
+	public static int[] distinct(int[] masks, int count) {
+		Arrays.sort(masks, 0, count);
+		int unique = 0;
+		for (int i = 0; i < count; i++) {
+			if (unique == 0 || masks[unique - 1] != masks[i]) {
+				masks[unique++] = masks[i];
+			}
+		}
+		return Arrays.copyOf(masks, unique);
+	}
+
+	/**
+	 * 在允许的条件中搜索代价最小的组合，代价相同时选择条件更少的组合
+	 *
+	 * @param preselected 已生成的条件，代价为 0 且不计入结果
+	 * @param recordStats 是否记录到 {@link GenerationStats}
+	 * @return 选中的条件位（不含 preselected），0 表示无需额外条件，-1 表示无法唯一确定
+	 */
+	public static int solve(int[] distinguishMasks, int preselected, int allowed, int[] costs, boolean recordStats) {
+		int remainingCount = 0;
+		int[] remaining = new int[distinguishMasks.length];
+		for (int mask : distinguishMasks) {
+			if ((mask & preselected) == 0) {
+				if ((mask & allowed) == 0) {
+					return -1;
+				}
+				remaining[remainingCount++] = mask & allowed;
+			}
+		}
+		if (remainingCount == 0) {
+			return 0;
+		}
+
+		long start = recordStats ? System.nanoTime() : 0;
+		int tried = 0;
+		int candidates = allowed & ~preselected;
+		int best = -1;
+		int bestCost = Integer.MAX_VALUE;
+		// 条件数量很少，直接枚举全部子集
+		for (int selected = candidates; selected != 0; selected = (selected - 1) & candidates) {
+			tried++;
+			int cost = cost(selected, costs);
+			if (cost > bestCost) {
+				continue;
+			}
+			if (cost == bestCost && Integer.bitCount(selected) >= Integer.bitCount(best)) {
+				continue;
+			}
+			if (covers(selected, remaining, remainingCount)) {
+				best = selected;
+				bestCost = cost;
+			}
+		}
+		if (recordStats) {
+			GenerationStats.recordSolve(tried, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	private static int cost(int selected, int[] costs) {
+		int cost = 0;
+		for (int bits = selected; bits != 0; bits &= bits - 1) {
+			cost += costs[Integer.numberOfTrailingZeros(bits)];
+		}
+		return cost;
+	}
+
+	private static boolean covers(int selected, int[] masks, int count) {
+		for (int i = 0; i < count; i++) {
+			if ((masks[i] & selected) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
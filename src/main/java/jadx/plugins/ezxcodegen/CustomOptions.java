@@ -9,6 +9,17 @@ public class CustomOptions extends BasePluginOptionsBuilder {
 	private boolean methodReturnEnable;
 	private boolean classOptimizationEnable;
 	private boolean debugEnable;
+	private String cliSignatures;
+	private String cliOutput;
+	private String remapOldInput;
+	private boolean incrementalEnable;
+	private boolean classHandleEnable;
+	private boolean featureLookupEnable;
+	private boolean streamingEnable;
+	private boolean groupByClassEnable;
+	private int callGraphDepth;
+	private boolean resolverCacheEnable;
+	private OutputLanguage language = OutputLanguage.KOTLIN;
 
 	@Override
 	public void registerOptions() {
@@ -32,6 +43,50 @@ public class CustomOptions extends BasePluginOptionsBuilder {
 				.description("调试模式 / debug mode")
 				.defaultValue(false)
 				.setter(v -> debugEnable = v);
+		strOption(EzxCodegenPlugin.PLUGIN_ID + ".cli.signatures")
+				.description("无界面模式：签名列表文件路径 / headless mode: path of the signature list file")
+				.defaultValue("")
+				.setter(v -> cliSignatures = v);
+		strOption(EzxCodegenPlugin.PLUGIN_ID + ".cli.output")
+				.description("无界面模式：输出文件路径 / headless mode: path of the output file")
+				.defaultValue("")
+				.setter(v -> cliOutput = v);
+		strOption(EzxCodegenPlugin.PLUGIN_ID + ".remap.old.input")
+				.description("无界面模式：签名所属的旧版本 apk，生成时映射到当前版本 / headless mode: old apk the signatures belong to, remapped to the current one")
+				.defaultValue("")
+				.setter(v -> remapOldInput = v);
+		boolOption(EzxCodegenPlugin.PLUGIN_ID + ".batch.incremental.enable")
+				.description("批量生成时复用上次未变化类的结果（缓存保存在输出文件旁的 .cache 文件） / batch generation reuses results of unchanged classes (cached in a .cache file next to the output)")
+				.defaultValue(false)
+				.setter(v -> incrementalEnable = v);
+		boolOption(EzxCodegenPlugin.PLUGIN_ID + ".batch.class.handle.enable")
+				.description("批量生成时将类对象提取为文件级的延迟加载变量，每个类只加载一次 / batch generation hoists class objects into lazily loaded file-level vals, each class is loaded once")
+				.defaultValue(false)
+				.setter(v -> classHandleEnable = v);
+		boolOption(EzxCodegenPlugin.PLUGIN_ID + ".batch.streaming.enable")
+				.description("批量生成时逐批释放已处理的类以限制内存占用，适用于无界面模式下的大型 apk / batch generation unloads processed classes chunk by chunk to bound memory, intended for large apks in headless mode")
+				.defaultValue(false)
+				.setter(v -> streamingEnable = v);
+		boolOption(EzxCodegenPlugin.PLUGIN_ID + ".batch.group.enable")
+				.description("批量生成时同一个类的多条查找链共用一次成员枚举，每个类只反射扫描一次 / batch generation shares one member enumeration between the finder chains of a class, each class is scanned reflectively once")
+				.defaultValue(false)
+				.setter(v -> groupByClassEnable = v);
+		intOption(EzxCodegenPlugin.PLUGIN_ID + ".callgraph.depth")
+				.description("按调用图生成时展开的层数 / number of levels expanded when generating along the call graph")
+				.defaultValue(1)
+				.setter(v -> callGraphDepth = v);
+		boolOption(EzxCodegenPlugin.PLUGIN_ID + ".method.feature.enable")
+				.description("按特征（字符串常量、调用的方法、访问的字段）生成 DexKit 查找代码，适用于名称每个版本都会重新混淆的情况 / generate DexKit lookups by features (string constants, invoked methods, accessed fields) for names that are reshuffled every release")
+				.defaultValue(false)
+				.setter(v -> featureLookupEnable = v);
+		boolOption(EzxCodegenPlugin.PLUGIN_ID + ".output.resolver.cache.enable")
+				.description("生成的查找代码经 HookResolver 在设备上按应用版本号缓存结果，之后启动时跳过查找（需复制 HookResolver 代码到模块中） / wrap generated finders in HookResolver, which caches resolved members on the device per app version code and skips the scan on later launches (copy the HookResolver code into the module)")
+				.defaultValue(false)
+				.setter(v -> resolverCacheEnable = v);
+		enumOption(EzxCodegenPlugin.PLUGIN_ID + ".output.language", OutputLanguage.values(), OutputLanguage::valueOf)
+				.description("生成代码的语言，XPOSED_HELPERS 不依赖 EzXHelper / language of the generated code, XPOSED_HELPERS does not depend on EzXHelper")
+				.defaultValue(OutputLanguage.KOTLIN)
+				.setter(v -> language = v);
 	}
 
 	public boolean isEnable() {
@@ -54,6 +109,66 @@ public class CustomOptions extends BasePluginOptionsBuilder {
 		return classOptimizationEnable;
 	}
 
+	public String getCliSignatures() {
+		return cliSignatures;
+	}
+
+	public String getCliOutput() {
+		return cliOutput;
+	}
+
+	public String getRemapOldInput() {
+		return remapOldInput;
+	}
+
+	public boolean isIncrementalEnable() {
+		return incrementalEnable;
+	}
+
+	public boolean isClassHandleEnable() {
+		return classHandleEnable;
+	}
+
+	public boolean isStreamingEnable() {
+		return streamingEnable;
+	}
+
+	public boolean isGroupByClassEnable() {
+		return groupByClassEnable;
+	}
+
+	public int getCallGraphDepth() {
+		return Math.max(1, callGraphDepth);
+	}
+
+	public boolean isResolverCacheEnable() {
+		return resolverCacheEnable;
+	}
+
+	public boolean isFeatureLookupEnable() {
+		return featureLookupEnable;
+	}
+
+	public OutputLanguage getLanguage() {
+		return language;
+	}
+
+	/**
+	 * 影响生成结果的配置项的哈希值
+	 */
+	public int getOptionsHash() {
+		int hash = 0;
+		hash = hash * 2 + (methodAccessEnable ? 1 : 0);
+		hash = hash * 2 + (methodReturnEnable ? 1 : 0);
+		hash = hash * 2 + (classOptimizationEnable ? 1 : 0);
+		hash = hash * 2 + (debugEnable ? 1 : 0);
+		hash = hash * 2 + (classHandleEnable ? 1 : 0);
+		hash = hash * 2 + (featureLookupEnable ? 1 : 0);
+		hash = hash * 2 + (resolverCacheEnable ? 1 : 0);
+		hash = hash * 4 + language.ordinal();
+		return hash;
+	}
+
 	@Override
 	public String toString() {
 		return "CustomOptions{" +
@@ -62,6 +177,17 @@ public class CustomOptions extends BasePluginOptionsBuilder {
 				", methodReturnEnable=" + methodReturnEnable +
 				", classOptimizationEnable=" + classOptimizationEnable +
 				", debugEnable=" + debugEnable +
+				", cliSignatures=" + cliSignatures +
+				", cliOutput=" + cliOutput +
+				", remapOldInput=" + remapOldInput +
+				", incrementalEnable=" + incrementalEnable +
+				", classHandleEnable=" + classHandleEnable +
+				", streamingEnable=" + streamingEnable +
+				", groupByClassEnable=" + groupByClassEnable +
+				", callGraphDepth=" + callGraphDepth +
+				", featureLookupEnable=" + featureLookupEnable +
+				", resolverCacheEnable=" + resolverCacheEnable +
+				", language=" + language +
 				'}';
 	}
 }
@@ -0,0 +1,180 @@
+package jadx.plugins.ezxcodegen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 批量生成的磁盘缓存，用于增量生成：类的声明未变化（{@link Fingerprints#ofDeclarations}）且配置相同时直接复用上次的结果。
+ * <p>
+ * 文件只追加写入，每条记录为 成员原始 id、类哈希、配置哈希、代码，同一成员以最后一条为准。
+ * 打开时一次性读入内存，过期记录过多或文件损坏（如上次写入中断）时在打开 / 关闭时重写整个文件，只保留完整的记录。
+ */
+public class DiskSnippetCache implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(DiskSnippetCache.class);
+
+	private static final int MAGIC = 0x455a5843;
+	private static final int VERSION = 1;
+
+	private final Path file;
+	private final int optionsHash;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * 文件中的记录总数（包括过期记录）
+	 */
+	private int records;
+	private DataOutputStream out;
+
+	private DiskSnippetCache(Path file, CustomOptions options) {
+		this.file = file;
+		this.optionsHash = options.getOptionsHash();
+	}
+
+	public static DiskSnippetCache open(Path file, CustomOptions options) throws IOException {
+		DiskSnippetCache cache = new DiskSnippetCache(file, options);
+		boolean valid = cache.load();
+		if (!valid || cache.needsCompact()) {
+			cache.rewrite();
+		}
+		cache.out = new DataOutputStream(new BufferedOutputStream(
+				Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+		if (cache.records == 0 && Files.size(file) == 0) {
+			cache.out.writeInt(MAGIC);
+			cache.out.writeInt(VERSION);
+		}
+		return cache;
+	}
+
+	/**
+	 * 只有在记录边界处结束才视为正常结束，记录不完整或长度超出剩余字节均视为损坏
+	 *
+	 * @return 文件是否完整可追加
+	 */
+	private boolean load() throws IOException {
+		if (!Files.isRegularFile(file)) {
+			return true;
+		}
+		byte[] data = Files.readAllBytes(file);
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				LOG.info("Ignore incompatible snippet cache: {}", file);
+				entries.clear();
+				return false;
+			}
+			while (in.available() > 0) {
+				String rawId = in.readUTF();
+				long classHash = in.readLong();
+				int entryOptionsHash = in.readInt();
+				int length = in.readInt();
+				if (length < 0 || length > in.available()) {
+					throw new EOFException();
+				}
+				byte[] bytes = new byte[length];
+				in.readFully(bytes);
+				entries.put(rawId, new Entry(classHash, entryOptionsHash, new String(bytes, StandardCharsets.UTF_8)));
+				records++;
+			}
+			return true;
+		} catch (EOFException | UTFDataFormatException e) {
+			LOG.warn("Snippet cache is corrupted, rewriting: {}", file);
+			return false;
+		}
+	}
+
+	private boolean needsCompact() {
+		return records > 2 * entries.size() + 1024;
+	}
+
+	/**
+	 * 只保留每个成员的最新记录，写入临时文件后替换
+	 */
+	private void rewrite() throws IOException {
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (DataOutputStream tmpOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			tmpOut.writeInt(MAGIC);
+			tmpOut.writeInt(VERSION);
+			for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+				writeRecord(tmpOut, entry.getKey(), entry.getValue());
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+		records = entries.size();
+	}
+
+	private static void writeRecord(DataOutputStream out, String rawId, Entry entry) throws IOException {
+		byte[] bytes = entry.snippet.getBytes(StandardCharsets.UTF_8);
+		out.writeUTF(rawId);
+		out.writeLong(entry.classHash);
+		out.writeInt(entry.optionsHash);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * @return 类的声明与配置均未变化时返回上次生成的代码，否则返回 null
+	 */
+	public String get(String rawId, long classHash) {
+		Entry entry = entries.get(rawId);
+		if (entry != null && entry.classHash == classHash && entry.optionsHash == optionsHash) {
+			hits.increment();
+			return entry.snippet;
+		}
+		misses.increment();
+		return null;
+	}
+
+	public synchronized void put(String rawId, long classHash, String snippet) throws IOException {
+		Entry entry = new Entry(classHash, optionsHash, snippet);
+		entries.put(rawId, entry);
+		writeRecord(out, rawId, entry);
+		records++;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		out.close();
+		if (needsCompact()) {
+			rewrite();
+		}
+	}
+
+	private static final class Entry {
+		private final long classHash;
+		private final int optionsHash;
+		private final String snippet;
+
+		private Entry(long classHash, int optionsHash, String snippet) {
+			this.classHash = classHash;
+			this.optionsHash = optionsHash;
+			this.snippet = snippet;
+		}
+	}
+}
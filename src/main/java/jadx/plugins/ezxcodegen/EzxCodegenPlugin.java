@@ -10,8 +10,15 @@ import jadx.api.plugins.gui.JadxGuiContext;
 public class EzxCodegenPlugin implements JadxPlugin {
 	public static final String PLUGIN_ID = "ezx-codegen-plugin";
 
+	/**
+	 * 点击生成时的代码缓存容量
+	 */
+	private static final int SNIPPET_CACHE_SIZE = 4096;
+
 	private final CustomOptions options = new CustomOptions();
 
+	private PreGenerationService preGenerationService;
+
 	@Override
 	public JadxPluginInfo getPluginInfo() {
 		return new JadxPluginInfo(PLUGIN_ID, "Ezxhelper Codegen", "Ezxhelper hook 代码生成器。\nEzxhelper hook code generator.");
@@ -25,12 +32,39 @@ public class EzxCodegenPlugin implements JadxPlugin {
 	@Override
 	public void init(JadxPluginContext context) {
 		context.registerOptions(options);
+		// 项目重新加载时插件会重新初始化，旧的索引不再有效
+		ClassIndex.invalidateAll();
+		FeatureIndex.invalidateAll();
+		CallGraphIndex.invalidateAll();
 		if (options.isEnable()) {
 			JadxDecompiler decompiler = context.getDecompiler();
 			JadxGuiContext guiContext = context.getGuiContext();
 			if (guiContext != null) {
-				CodeGenerator generator = new CodeGenerator(guiContext, decompiler, options);
+				CodeGenerator generator = new CodeGenerator(guiContext, decompiler, options, new SnippetCache(SNIPPET_CACHE_SIZE));
+				if (preGenerationService != null) {
+					preGenerationService.shutdown();
+				}
+				preGenerationService = new PreGenerationService(generator);
+				context.addPass(new PreGenerationPass(preGenerationService, options));
 				guiContext.addPopupMenuAction("生成 EzxHelper 代码", this::canGen, null, generator);
+
+				if (options.isResolverCacheEnable()) {
+					guiContext.addMenuAction("复制 HookResolver 代码",
+							() -> guiContext.copyToClipboard(options.getLanguage().getEmitter().getResolverSource()));
+				}
+
+				BulkCopyAction bulkCopyAction = new BulkCopyAction(guiContext, decompiler, options, generator);
+				guiContext.addPopupMenuAction("生成所有使用处的 EzxHelper 代码", bulkCopyAction::canCopyUsages, null, bulkCopyAction::copyUsages);
+				guiContext.addPopupMenuAction("生成所有调用者的 EzxHelper 代码", bulkCopyAction::canExpandCallGraph, null, bulkCopyAction::copyCallers);
+				guiContext.addPopupMenuAction("生成所有被调用方法的 EzxHelper 代码", bulkCopyAction::canExpandCallGraph, null, bulkCopyAction::copyCallees);
+				guiContext.addMenuAction("按签名列表生成 EzxHelper 代码", bulkCopyAction::copySignatures);
+
+				BatchAction batchAction = new BatchAction(guiContext, decompiler, options);
+				guiContext.addPopupMenuAction("批量生成当前类 EzxHelper 代码", batchAction::canGen, null, batchAction::generateClass);
+				guiContext.addPopupMenuAction("批量生成当前包 EzxHelper 代码", batchAction::canGen, null, batchAction::generatePackage);
+				guiContext.addMenuAction("批量生成全部 EzxHelper 代码", batchAction::generateAll);
+			} else if (Utils.isNotEmpty(options.getCliSignatures())) {
+				context.addPass(new HeadlessGenerationPass(options));
 			}
 		}
 	}
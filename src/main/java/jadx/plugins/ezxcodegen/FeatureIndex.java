@@ -0,0 +1,241 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 整个 apk 的特征倒排索引：字符串常量 / 调用的方法 / 访问的字段 -> 使用它的方法。
+ * <p>
+ * 名称每个版本都会重新混淆时 {@code filterByName} 无法使用，此时按特征（DexKit 的写法）查找方法。
+ * 索引只并行构建一次，用于证明选出的特征组合在整个 apk 中只匹配目标方法。
+ */
+public class FeatureIndex {
+	private static final Logger LOG = LoggerFactory.getLogger(FeatureIndex.class);
+
+	/**
+	 * 参与组合搜索的特征数量上限（按使用它的方法数从少到多），限制子集枚举的规模
+	 */
+	private static final int MAX_FEATURES = 12;
+
+	private static final int COST_STRING = 1;
+	private static final int COST_SYSTEM_REF = 2;
+	/**
+	 * 应用内的类名同样会被重新混淆，尽量不用
+	 */
+	private static final int COST_APP_REF = 4;
+
+	private static volatile FeatureIndex instance;
+
+	enum Kind {
+		STRING('s'),
+		INVOKE('m'),
+		FIELD('f');
+
+		private final char prefix;
+
+		Kind(char prefix) {
+			this.prefix = prefix;
+		}
+	}
+
+	private final RootNode root;
+	private final Map<String, List<MethodNode>> postings;
+
+	private FeatureIndex(RootNode root) {
+		this.root = root;
+		long start = System.currentTimeMillis();
+		this.postings = root.getClasses().parallelStream()
+				.flatMap(cls -> cls.getMethods().stream())
+				.flatMap(mth -> keys(MethodFeatures.extract(mth)).map(key -> Map.entry(key, mth)))
+				.collect(Collectors.groupingByConcurrent(Map.Entry::getKey,
+						Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+		LOG.info("Built feature index with {} features in {}ms", postings.size(), System.currentTimeMillis() - start);
+	}
+
+	public static FeatureIndex of(RootNode root) {
+		FeatureIndex index = instance;
+		if (index == null || index.root != root) {
+			synchronized (FeatureIndex.class) {
+				index = instance;
+				if (index == null || index.root != root) {
+					index = new FeatureIndex(root);
+					instance = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * 已构建完成的索引，尚未构建时返回 null，不会阻塞
+	 */
+	public static FeatureIndex getIfBuilt(RootNode root) {
+		FeatureIndex index = instance;
+		return index != null && index.root == root ? index : null;
+	}
+
+	/**
+	 * 在后台线程中构建索引，点击生成时不必在界面线程中等待
+	 */
+	public static void buildInBackground(RootNode root) {
+		if (getIfBuilt(root) != null) {
+			return;
+		}
+		Thread thread = new Thread(() -> {
+			try {
+				of(root);
+			} catch (Exception e) {
+				LOG.warn("Failed to build feature index", e);
+			}
+		}, "ezx-codegen-feature-index");
+		thread.setDaemon(true);
+		thread.setPriority(Thread.MIN_PRIORITY);
+		thread.start();
+	}
+
+	public static void invalidateAll() {
+		instance = null;
+	}
+
+	private static Stream<String> keys(MethodFeatures features) {
+		return Stream.of(
+				features.getStrings().stream().map(str -> key(Kind.STRING, str)),
+				features.getInvokes().stream().map(invoke -> key(Kind.INVOKE, invoke)),
+				features.getFields().stream().map(fld -> key(Kind.FIELD, fld))
+		).flatMap(s -> s);
+	}
+
+	private static String key(Kind kind, String value) {
+		return kind.prefix + value;
+	}
+
+	public List<MethodNode> getMethods(Kind kind, String value) {
+		return postings.getOrDefault(key(kind, value), Collections.emptyList());
+	}
+
+	/**
+	 * 搜索代价最小、在整个 apk 中只匹配目标方法的特征组合
+	 *
+	 * @return 选中的特征，方法没有特征或无法唯一确定时为 null
+	 */
+	public MethodFeatures searchUniqueFeatures(MethodNode mth, boolean recordStats) {
+		List<Feature> features = new ArrayList<>();
+		MethodFeatures all = MethodFeatures.extract(mth);
+		addFeatures(features, Kind.STRING, all.getStrings());
+		addFeatures(features, Kind.INVOKE, all.getInvokes());
+		addFeatures(features, Kind.FIELD, all.getFields());
+		if (features.isEmpty()) {
+			return null;
+		}
+		features.sort(java.util.Comparator.<Feature>comparingInt(f -> f.methods.size()).thenComparingInt(f -> f.cost));
+		if (features.size() > MAX_FEATURES) {
+			features = features.subList(0, MAX_FEATURES);
+		}
+
+		// 其他方法拥有的特征位，未出现在任何候选特征中的方法已被任意特征排除
+		Map<MethodNode, Integer> owned = new HashMap<>();
+		int count = features.size();
+		int[] costs = new int[count];
+		for (int i = 0; i < count; i++) {
+			Feature feature = features.get(i);
+			costs[i] = feature.cost;
+			int bit = 1 << i;
+			for (MethodNode other : feature.methods) {
+				if (other != mth) {
+					owned.merge(other, bit, (a, b) -> a | b);
+				}
+			}
+		}
+		int allBits = (1 << count) - 1;
+		int[] masks = new int[owned.size()];
+		int maskCount = 0;
+		for (int bits : owned.values()) {
+			masks[maskCount++] = allBits & ~bits;
+		}
+		int selected = CriteriaSolver.solve(CriteriaSolver.distinct(masks, maskCount), 0, allBits, costs, recordStats);
+		if (selected < 0) {
+			return null;
+		}
+		if (selected == 0) {
+			// 所有特征都只被目标方法使用，选代价最小的一个
+			selected = 1 << cheapest(costs);
+		}
+		return toFeatures(features, selected);
+	}
+
+	private void addFeatures(List<Feature> features, Kind kind, List<String> values) {
+		for (String value : values) {
+			features.add(new Feature(kind, value, getMethods(kind, value)));
+		}
+	}
+
+	private static int cheapest(int[] costs) {
+		int best = 0;
+		for (int i = 1; i < costs.length; i++) {
+			if (costs[i] < costs[best]) {
+				best = i;
+			}
+		}
+		return best;
+	}
+
+	private static MethodFeatures toFeatures(List<Feature> features, int selected) {
+		List<String> strings = new ArrayList<>();
+		List<String> invokes = new ArrayList<>();
+		List<String> fields = new ArrayList<>();
+		for (int bits = selected; bits != 0; bits &= bits - 1) {
+			Feature feature = features.get(Integer.numberOfTrailingZeros(bits));
+			switch (feature.kind) {
+				case STRING:
+					strings.add(feature.value);
+					break;
+				case INVOKE:
+					invokes.add(feature.value);
+					break;
+				case FIELD:
+					fields.add(feature.value);
+					break;
+			}
+		}
+		Collections.sort(strings);
+		Collections.sort(invokes);
+		Collections.sort(fields);
+		return new MethodFeatures(strings, invokes, fields);
+	}
+
+	private static final class Feature {
+		private final Kind kind;
+		private final String value;
+		private final List<MethodNode> methods;
+		private final int cost;
+
+		private Feature(Kind kind, String value, List<MethodNode> methods) {
+			this.kind = kind;
+			this.value = value;
+			this.methods = methods;
+			this.cost = kind == Kind.STRING ? COST_STRING
+					: Utils.isSystemClassName(descriptorClassName(value)) ? COST_SYSTEM_REF : COST_APP_REF;
+		}
+
+		/**
+		 * {@code Landroid/util/Log;->d(...)I} -> {@code android.util.Log}
+		 */
+		private static String descriptorClassName(String descriptor) {
+			int end = descriptor.indexOf(";->");
+			if (!descriptor.startsWith("L") || end == -1) {
+				return "";
+			}
+			return descriptor.substring(1, end).replace('/', '.');
+		}
+	}
+}
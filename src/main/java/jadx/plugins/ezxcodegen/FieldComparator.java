@@ -0,0 +1,97 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.plugins.input.data.AccessFlags;
+import jadx.core.dex.nodes.FieldNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 字段版本的 {@link Comparator}：在声明类的同名字段（混淆后常见）中
+ * 搜索能唯一确定目标字段的最小过滤条件组合。
+ */
+public class FieldComparator {
+
+	/**
+	 * 条件位，顺序即为生成代码的顺序
+	 */
+	private static final int CR_STATIC = 0;
+	private static final int CR_FINAL = 1;
+	private static final int CR_TYPE = 2;
+
+	/**
+	 * 修饰符判断最便宜，类型需要加载类对象
+	 */
+	private static final int[] COSTS = {1, 1, 2};
+	private static final int ALL_CRITERIA = (1 << COSTS.length) - 1;
+
+	private final FieldNode fld;
+	private final List<FieldNode> otherFldNodes;
+	private final CustomOptions options;
+
+	private final int[] distinguishMasks;
+
+	public FieldComparator(FieldNode fld, List<FieldNode> otherFldNodes, CustomOptions options) {
+		this.fld = fld;
+		this.otherFldNodes = otherFldNodes;
+		this.options = options;
+		this.distinguishMasks = buildDistinguishMasks();
+	}
+
+	private int[] buildDistinguishMasks() {
+		int targetFlags = fld.getAccessFlags().rawValue();
+		int[] masks = new int[otherFldNodes.size()];
+		int count = 0;
+		for (FieldNode other : otherFldNodes) {
+			int diffFlags = other.getAccessFlags().rawValue() ^ targetFlags;
+			int mask = 0;
+			if ((diffFlags & AccessFlags.STATIC) != 0) {
+				mask |= 1 << CR_STATIC;
+			}
+			if ((diffFlags & AccessFlags.FINAL) != 0) {
+				mask |= 1 << CR_FINAL;
+			}
+			if (!other.getType().equals(fld.getType())) {
+				mask |= 1 << CR_TYPE;
+			}
+			masks[count++] = mask;
+		}
+		return CriteriaSolver.distinct(masks, count);
+	}
+
+	/**
+	 * 搜索代价最小的唯一组合
+	 *
+	 * @return 过滤条件，无需额外条件时为空列表，无法唯一确定时为 null
+	 */
+	public List<MemberFilter> searchUniqueFilters() {
+		int selected = CriteriaSolver.solve(distinguishMasks, 0, ALL_CRITERIA, COSTS, options.isDebugEnable());
+		return selected < 0 ? null : genFilters(selected);
+	}
+
+	/**
+	 * 无法唯一确定时，目标字段在同名字段中的声明顺序
+	 */
+	public int getDeclarationIndex() {
+		return ClassIndex.of(fld.getParentClass()).getFieldsByName(fld.getFieldInfo().getName()).indexOf(fld);
+	}
+
+	private List<MemberFilter> genFilters(int selected) {
+		int targetFlags = fld.getAccessFlags().rawValue();
+		List<MemberFilter> filters = new ArrayList<>(Integer.bitCount(selected));
+		for (int bits = selected; bits != 0; bits &= bits - 1) {
+			switch (Integer.numberOfTrailingZeros(bits)) {
+				case CR_STATIC:
+					filters.add(MemberFilter.modifier(AccessFlags.STATIC, (targetFlags & AccessFlags.STATIC) != 0));
+					break;
+				case CR_FINAL:
+					filters.add(MemberFilter.modifier(AccessFlags.FINAL, (targetFlags & AccessFlags.FINAL) != 0));
+					break;
+				case CR_TYPE:
+					filters.add(MemberFilter.TYPE);
+					break;
+			}
+		}
+		return filters;
+	}
+}
@@ -0,0 +1,149 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.metadata.ICodeNodeRef;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一个成员的完整查找链：fromClass（或已枚举的成员列表） + 过滤条件 + first() / toList()[i]。
+ * <p>
+ * 条件按输出顺序分组保存，输出代码时需要在组之间插入注释、换行。
+ */
+public final class FilterChain {
+	private final ICodeNodeRef target;
+	private final List<MemberFilter> leading;
+	/**
+	 * 由比较器搜索出的区分条件，null 表示无法唯一确定
+	 */
+	private final List<MemberFilter> unique;
+	private final List<MemberFilter> forced;
+	private final List<MemberFilter> trailing;
+	/**
+	 * 无法唯一确定时按声明顺序取的下标，否则为 -1
+	 */
+	private final int index;
+	/**
+	 * 按类合并查找时共用的成员列表变量名，否则为 null
+	 */
+	private final String memberList;
+
+	private FilterChain(Builder builder) {
+		this.target = builder.target;
+		this.leading = builder.leading;
+		this.unique = builder.unique;
+		this.forced = builder.forced;
+		this.trailing = builder.trailing;
+		this.index = builder.index;
+		this.memberList = builder.memberList;
+	}
+
+	public static Builder builder(ICodeNodeRef target) {
+		return new Builder(target);
+	}
+
+	public ICodeNodeRef getTarget() {
+		return target;
+	}
+
+	/**
+	 * 名称等最先输出的条件
+	 */
+	public List<MemberFilter> getLeading() {
+		return leading;
+	}
+
+	public List<MemberFilter> getUnique() {
+		return unique == null ? Collections.emptyList() : unique;
+	}
+
+	public boolean isUniqueFailed() {
+		return unique == null;
+	}
+
+	/**
+	 * 由“强制生成”选项输出的条件
+	 */
+	public List<MemberFilter> getForced() {
+		return forced;
+	}
+
+	/**
+	 * 参数、返回值等最后输出的条件
+	 */
+	public List<MemberFilter> getTrailing() {
+		return trailing;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * 查找的起点：非 null 时从该变量（函数开头一次性枚举的成员列表）开始，否则从 fromClass 开始
+	 */
+	public String getMemberList() {
+		return memberList;
+	}
+
+	/**
+	 * 全部条件，用于校验
+	 */
+	public List<MemberFilter> getAll() {
+		List<MemberFilter> all = new ArrayList<>(leading.size() + getUnique().size() + forced.size() + trailing.size());
+		all.addAll(leading);
+		all.addAll(getUnique());
+		all.addAll(forced);
+		all.addAll(trailing);
+		return all;
+	}
+
+	public static final class Builder {
+		private final ICodeNodeRef target;
+		private final List<MemberFilter> leading = new ArrayList<>(1);
+		private List<MemberFilter> unique = Collections.emptyList();
+		private final List<MemberFilter> forced = new ArrayList<>(0);
+		private final List<MemberFilter> trailing = new ArrayList<>(2);
+		private int index = -1;
+		private String memberList;
+
+		private Builder(ICodeNodeRef target) {
+			this.target = target;
+		}
+
+		public Builder leading(MemberFilter filter) {
+			leading.add(filter);
+			return this;
+		}
+
+		public Builder unique(List<MemberFilter> filters) {
+			this.unique = filters;
+			return this;
+		}
+
+		public Builder forced(MemberFilter filter) {
+			forced.add(filter);
+			return this;
+		}
+
+		public Builder trailing(MemberFilter filter) {
+			trailing.add(filter);
+			return this;
+		}
+
+		public Builder index(int index) {
+			this.index = index;
+			return this;
+		}
+
+		public Builder memberList(String memberList) {
+			this.memberList = memberList;
+			return this;
+		}
+
+		public FilterChain build() {
+			return new FilterChain(this);
+		}
+	}
+}
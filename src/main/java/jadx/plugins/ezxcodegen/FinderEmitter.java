@@ -0,0 +1,453 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.api.plugins.input.data.AccessFlags;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 输出 EzXHelper 查找链（MethodFinder / FieldFinder）的后端，各语言只需提供模板与类对象的写法。
+ */
+public abstract class FinderEmitter implements CodeEmitter {
+
+	/**
+	 * 模板位置，参数见各语言的模板定义
+	 */
+	protected enum Part {
+		CLASS,
+		FIELD_DECL,
+		FIELD_HEAD,
+		FIELD_TAIL,
+		HOOK_START,
+		METHOD_HEAD,
+		HOOK,
+		NAME,
+		ACCESS,
+		MODIFIER,
+		NON_MODIFIER,
+		PARAM_COUNT,
+		PARAM_TYPES,
+		RETURN_TYPE,
+		TYPE,
+		EXCEPTIONS_EMPTY,
+		EXCEPTIONS,
+		ANNOTATIONS_EMPTY,
+		ANNOTATIONS,
+		BRIDGE,
+		NON_BRIDGE,
+		FIRST,
+		INDEX,
+		FEATURE_HEAD,
+		FEATURE_STRINGS,
+		FEATURE_INVOKE,
+		FEATURE_FIELD,
+		FEATURE_TAIL,
+		RESOLVER_HEAD,
+		RESOLVER_TAIL,
+		MEMBER_LIST,
+		GROUPED_FINDER,
+	}
+
+	private static final String PARAM_LINE_BREAK = "\n        ";
+	private static final String RESOLVER_INDENT = "    ";
+
+	private final Map<Part, Template> templates = new EnumMap<>(Part.class);
+	private final ClassObjectCache classObjectCache = new ClassObjectCache(4096);
+	private volatile String resolverSource;
+
+	protected FinderEmitter(Map<Part, String> templates) {
+		for (Part part : Part.values()) {
+			String template = templates.get(part);
+			if (template == null) {
+				throw new JadxRuntimeException("Missing template: " + part);
+			}
+			this.templates.put(part, Template.compile(template));
+		}
+	}
+
+	/**
+	 * 字符串字面量的内容（不含引号）
+	 */
+	protected abstract void appendStringContent(String str, StringBuilder sb);
+
+	/**
+	 * java 与 kotlin 共有的转义：字符串常量取自 apk，可能包含引号、换行等任意字符
+	 *
+	 * @return 是否已转义
+	 */
+	protected static boolean appendEscape(char c, StringBuilder sb) {
+		switch (c) {
+			case '\n':
+				sb.append("\\n");
+				return true;
+			case '\r':
+				sb.append("\\r");
+				return true;
+			case '\t':
+				sb.append("\\t");
+				return true;
+			case '"':
+				sb.append("\\\"");
+				return true;
+			case '\\':
+				sb.append("\\\\");
+				return true;
+			default:
+				if (Character.isISOControl(c)) {
+					sb.append(String.format("\\u%04x", (int) c));
+					return true;
+				}
+				return false;
+		}
+	}
+
+	protected abstract String renderClassObject(ArgType type, boolean optimize);
+
+	/**
+	 * fromClass 的参数，默认为类名字符串
+	 */
+	protected String classArgument(String className) {
+		return '"' + str(className) + '"';
+	}
+
+	private Template template(Part part) {
+		return templates.get(part);
+	}
+
+	private String str(String value) {
+		StringBuilder sb = new StringBuilder(value.length() + 4);
+		appendStringContent(value, sb);
+		return sb.toString();
+	}
+
+	@Override
+	public String classObject(ArgType type, boolean optimize) {
+		return classObjectCache.get(type, optimize, this::renderClassObject);
+	}
+
+	@Override
+	public ClassObjectCache getClassObjectCache() {
+		return classObjectCache;
+	}
+
+	@Override
+	public void appendClass(ClassNode cls, CustomOptions options, StringBuilder sb) {
+		template(Part.CLASS).appendTo(sb, Utils.lowerCaseFirst(cls.getShortName()), str(cls.getRawName()));
+	}
+
+	@Override
+	public void appendField(FilterChain chain, CustomOptions options, StringBuilder sb) {
+		FieldNode fld = (FieldNode) chain.getTarget();
+		template(Part.FIELD_DECL).appendTo(sb, Utils.toIdentifier(fld.getFieldInfo().getAlias()));
+		int finderStart = sb.length();
+		if (chain.getMemberList() != null) {
+			template(Part.GROUPED_FINDER).appendTo(sb, "Field", chain.getMemberList());
+		} else {
+			template(Part.FIELD_HEAD).appendTo(sb, classArgument(fld.getParentClass().getRawName()));
+		}
+		if (options.isDebugEnable()) {
+			sb.append("\n    // ").append(fld.getType()).append(' ').append(fld.getFieldInfo().getName());
+		}
+		appendFilters(chain.getLeading(), fld, options, sb);
+		appendUniqueFilters(chain, "fields with duplicate names", "field", options, sb);
+		sb.append("\n    ");
+		appendTerminal(chain, sb);
+		wrapResolver(sb, finderStart, "field", fld, options);
+		template(Part.FIELD_TAIL).appendTo(sb);
+	}
+
+	@Override
+	public void appendMethod(FilterChain chain, CustomOptions options, StringBuilder sb) {
+		MethodNode mth = (MethodNode) chain.getTarget();
+		template(Part.HOOK_START).appendTo(sb);
+		int finderStart = sb.length();
+		String finder = mth.isConstructor() ? "Constructor" : "Method";
+		if (chain.getMemberList() != null) {
+			template(Part.GROUPED_FINDER).appendTo(sb, finder, chain.getMemberList());
+		} else {
+			template(Part.METHOD_HEAD).appendTo(sb, finder, classArgument(mth.getParentClass().getRawName()));
+		}
+		if (!mth.isConstructor()) {
+			if (options.isDebugEnable()) {
+				sb.append("\n    // ").append(Utils.getMethodString(mth));
+			}
+			// 方法名筛选最快且区分度最高，放在最前面以减少后续条件的判断次数
+			appendFilters(chain.getLeading(), mth, options, sb);
+			appendUniqueFilters(chain, "methods with duplicate names and parameter types", "method", options, sb);
+			appendFilters(chain.getForced(), mth, options, sb);
+		}
+
+		// 多行参数列表的右括号后直接接 first()
+		boolean inline = chain.getTrailing().isEmpty();
+		for (MemberFilter filter : chain.getTrailing()) {
+			if (filter.getKind() == MemberFilter.Kind.PARAM_TYPES) {
+				inline = appendParamsType(mth, options.isClassOptimizationEnable(), sb);
+			} else {
+				// 无参方法，若直接不筛选参数，因为条件较松，若存在同名方法，可能会使xposed使用到其他方法。
+				// 所以此处增加限制筛选无参数
+				appendFilter(filter, mth, options, sb);
+				inline = false;
+			}
+		}
+		if (!inline) {
+			sb.append("\n    ");
+		}
+		appendTerminal(chain, sb);
+		wrapResolver(sb, finderStart, mth.isConstructor() ? "constructor" : "method", mth, options);
+		template(Part.HOOK).appendTo(sb);
+	}
+
+	@Override
+	public void appendFeatureMethod(MethodNode mth, MethodFeatures features, CustomOptions options, StringBuilder sb) {
+		template(Part.HOOK_START).appendTo(sb);
+		int finderStart = sb.length();
+		template(Part.FEATURE_HEAD).appendTo(sb);
+		if (options.isDebugEnable()) {
+			sb.append("\n    // ").append(Utils.getMethodString(mth));
+		}
+		if (!features.getStrings().isEmpty()) {
+			template(Part.FEATURE_STRINGS).appendTo(sb, stringList(features.getStrings()));
+		}
+		for (String invoke : features.getInvokes()) {
+			template(Part.FEATURE_INVOKE).appendTo(sb, str(invoke));
+		}
+		for (String fld : features.getFields()) {
+			template(Part.FEATURE_FIELD).appendTo(sb, str(fld));
+		}
+		template(Part.FEATURE_TAIL).appendTo(sb, mth.isConstructor() ? "Constructor" : "Method");
+		wrapResolver(sb, finderStart, mth.isConstructor() ? "constructor" : "method", mth, options);
+		template(Part.HOOK).appendTo(sb);
+	}
+
+	/**
+	 * 运行时缓存：把 sb 中 start 之后的查找代码包装为 HookResolver 的回调，
+	 * 查找代码只在缓存未命中时执行，整体缩进一级
+	 *
+	 * @param kind HookResolver 的方法名：method / constructor / field
+	 */
+	private void wrapResolver(StringBuilder sb, int start, String kind, ICodeNodeRef member, CustomOptions options) {
+		if (!usesResolver(options)) {
+			return;
+		}
+		String finder = sb.substring(start);
+		sb.setLength(start);
+		template(Part.RESOLVER_HEAD).appendTo(sb, kind, str(Utils.getRawId(member)));
+		for (int i = 0, len = finder.length(); i < len; i++) {
+			char c = finder.charAt(i);
+			sb.append(c);
+			if (c == '\n') {
+				sb.append(RESOLVER_INDENT);
+			}
+		}
+		template(Part.RESOLVER_TAIL).appendTo(sb);
+	}
+
+	@Override
+	public void appendMemberList(String finder, String variable, ClassNode cls, StringBuilder sb) {
+		template(Part.MEMBER_LIST).appendTo(sb, finder, variable, classArgument(cls.getRawName()), memberType(finder));
+	}
+
+	private static String memberType(String finder) {
+		return finder.equals("Constructor") ? "Constructor<?>" : finder;
+	}
+
+	@Override
+	public String getResolverSource() {
+		String source = resolverSource;
+		if (source == null) {
+			String resource = "/ezxcodegen/HookResolver." + getFileExtension() + ".txt";
+			try (InputStream in = FinderEmitter.class.getResourceAsStream(resource)) {
+				if (in == null) {
+					throw new JadxRuntimeException("Missing resource: " + resource);
+				}
+				source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				throw new JadxRuntimeException("Failed to read " + resource, e);
+			}
+			resolverSource = source;
+		}
+		return source;
+	}
+
+	private void appendUniqueFilters(FilterChain chain, String duplicates, String member, CustomOptions options, StringBuilder sb) {
+		if (chain.isUniqueFailed()) {
+			sb.append("\n    // Warning: Failed to retrieve unique condition for this ").append(member)
+					.append(", select by declaration order.");
+		} else if (!chain.getUnique().isEmpty()) {
+			if (options.isDebugEnable()) {
+				sb.append("\n    // Found ").append(duplicates);
+			}
+			appendFilters(chain.getUnique(), chain.getTarget(), options, sb);
+		}
+	}
+
+	private void appendTerminal(FilterChain chain, StringBuilder sb) {
+		if (chain.getIndex() >= 0) {
+			template(Part.INDEX).appendTo(sb, Integer.toString(chain.getIndex()));
+		} else {
+			template(Part.FIRST).appendTo(sb);
+		}
+	}
+
+	/**
+	 * 参数较多时按行宽自动换行，换行后整体缩进到下一行。
+	 * 类型均取擦除后的签名（{@link jadx.core.dex.info.MethodInfo}），与运行时反射得到的类型一致
+	 *
+	 * @return 是否换行
+	 */
+	private boolean appendParamsType(MethodNode mth, boolean optimize, StringBuilder sb) {
+		List<ArgType> mthArgs = mth.getMethodInfo().getArgumentsTypes();
+		sb.append("\n    .filterByParamTypes(");
+		int paramsStart = sb.length();
+		boolean multiline = false;
+		// 当前行已生成的 ParamTypes 代码长度
+		int lineLength = 0;
+		for (int i = 0, size = mthArgs.size(); i < size; i++) {
+			String param = classObject(mthArgs.get(i), optimize);
+			int limit = lineLength == 0 ? 45 : 75;
+			int len = param.length() + 2;
+			lineLength += len;
+			if (lineLength >= limit) {
+				multiline = true;
+				lineLength = PARAM_LINE_BREAK.length() + len;
+				if (i != 0) {
+					sb.append(PARAM_LINE_BREAK);
+				}
+			}
+			sb.append(param);
+			if (i != size - 1) {
+				sb.append(", ");
+			}
+		}
+		if (multiline) {
+			sb.insert(paramsStart, PARAM_LINE_BREAK);
+			sb.append("\n    )");
+		} else {
+			sb.append(')');
+		}
+		return multiline;
+	}
+
+	private void appendFilters(List<MemberFilter> filters, ICodeNodeRef target, CustomOptions options, StringBuilder sb) {
+		for (MemberFilter filter : filters) {
+			appendFilter(filter, target, options, sb);
+		}
+	}
+
+	/**
+	 * 输出单个过滤条件，每个条件独占一行
+	 */
+	private void appendFilter(MemberFilter filter, ICodeNodeRef target, CustomOptions options, StringBuilder sb) {
+		boolean optimize = options.isClassOptimizationEnable();
+		switch (filter.getKind()) {
+			case NAME:
+				template(Part.NAME).appendTo(sb, str(Utils.getName(target)));
+				break;
+			case ACCESS:
+				template(Part.ACCESS).appendTo(sb, accessFilterName(Utils.getAccessFlags(target)));
+				break;
+			case MODIFIER:
+				template(filter.isExpected() ? Part.MODIFIER : Part.NON_MODIFIER).appendTo(sb, modifierName(filter.getFlag()));
+				break;
+			case PARAM_COUNT:
+				template(Part.PARAM_COUNT).appendTo(sb, Integer.toString(((MethodNode) target).getMethodInfo().getArgsCount()));
+				break;
+			case PARAM_TYPES:
+				template(Part.PARAM_TYPES).appendTo(sb, classObjects(((MethodNode) target).getMethodInfo().getArgumentsTypes(), optimize));
+				break;
+			case RETURN_TYPE:
+				template(Part.RETURN_TYPE).appendTo(sb, classObject(((MethodNode) target).getMethodInfo().getReturnType(), optimize));
+				break;
+			case EXCEPTIONS:
+				List<ArgType> throwTypes = Comparator.getThrows((MethodNode) target);
+				if (throwTypes.isEmpty()) {
+					template(Part.EXCEPTIONS_EMPTY).appendTo(sb);
+				} else {
+					template(Part.EXCEPTIONS).appendTo(sb, classObjects(throwTypes, optimize));
+				}
+				break;
+			case ANNOTATIONS:
+				Set<String> annotations = Comparator.getRuntimeAnnotations((MethodNode) target);
+				if (annotations.isEmpty()) {
+					template(Part.ANNOTATIONS_EMPTY).appendTo(sb);
+				} else {
+					template(Part.ANNOTATIONS).appendTo(sb, stringList(annotations));
+				}
+				break;
+			case BRIDGE:
+				template(filter.isExpected() ? Part.BRIDGE : Part.NON_BRIDGE).appendTo(sb);
+				break;
+			case TYPE:
+				template(Part.TYPE).appendTo(sb, classObject(((FieldNode) target).getFieldInfo().getType(), optimize));
+				break;
+		}
+	}
+
+	private static String accessFilterName(int accessFlags) {
+		if ((accessFlags & AccessFlags.PUBLIC) != 0) {
+			return "filterPublic";
+		}
+		if ((accessFlags & AccessFlags.PRIVATE) != 0) {
+			return "filterPrivate";
+		}
+		if ((accessFlags & AccessFlags.PROTECTED) != 0) {
+			return "filterProtected";
+		}
+		return "filterPackagePrivate";
+	}
+
+	private static String modifierName(int flag) {
+		switch (flag) {
+			case AccessFlags.STATIC:
+				return "Static";
+			case AccessFlags.FINAL:
+				return "Final";
+			case AccessFlags.ABSTRACT:
+				return "Abstract";
+			case AccessFlags.VARARGS:
+				return "Varargs";
+			case AccessFlags.NATIVE:
+				return "Native";
+			case AccessFlags.SYNCHRONIZED:
+				return "Synchronized";
+			default:
+				throw new JadxRuntimeException("Unsupported modifier: " + flag);
+		}
+	}
+
+	private String classObjects(List<ArgType> types, boolean optimize) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < types.size(); i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(classObject(types.get(i), optimize));
+		}
+		return sb.toString();
+	}
+
+	private String stringList(Collection<String> values) {
+		StringBuilder sb = new StringBuilder();
+		for (String value : values) {
+			if (sb.length() > 0) {
+				sb.append(", ");
+			}
+			sb.append('"');
+			appendStringContent(value, sb);
+			sb.append('"');
+		}
+		return sb.toString();
+	}
+}
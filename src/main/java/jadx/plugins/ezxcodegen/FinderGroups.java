@@ -0,0 +1,120 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 批量生成时按类合并查找：同一个函数中对同一个类的多条 MethodFinder / ConstructorFinder / FieldFinder 查找链
+ * 改为共用一次反射枚举的结果（{@code fromIterable}），运行时每个类只加载、枚举一次成员。
+ * <p>
+ * 生成之前按成员分组，分组结果通过 {@link FilterChain#getMemberList()} 交给输出后端，不修改已生成的代码。
+ * 创建后只读，可在生成的工作线程中共享。
+ */
+public class FinderGroups {
+	private static final FinderGroups EMPTY = new FinderGroups(Collections.emptyMap());
+
+	private enum Kind {
+		METHOD("Method", "methods"),
+		CONSTRUCTOR("Constructor", "constructors"),
+		FIELD("Field", "fields");
+
+		private final String finder;
+		private final String variable;
+
+		Kind(String finder, String variable) {
+			this.finder = finder;
+			this.variable = variable;
+		}
+	}
+
+	/**
+	 * 类 -> 需要合并的查找起点
+	 */
+	private final Map<ClassNode, Set<Kind>> groups;
+
+	private FinderGroups(Map<ClassNode, Set<Kind>> groups) {
+		this.groups = groups;
+	}
+
+	/**
+	 * 同一个类中同一种查找出现两次及以上时合并
+	 */
+	public static FinderGroups of(List<ICodeNodeRef> members, CustomOptions options) {
+		if (!isApplicable(options)) {
+			return EMPTY;
+		}
+		// 按特征查找的方法不使用 MethodFinder，只合并字段
+		boolean fieldsOnly = options.isFeatureLookupEnable();
+		Map<ClassNode, Map<Kind, Integer>> counts = new HashMap<>();
+		for (ICodeNodeRef member : members) {
+			Kind kind = kindOf(member);
+			if (fieldsOnly && kind != Kind.FIELD) {
+				continue;
+			}
+			counts.computeIfAbsent(Utils.getParentClass(member), k -> new EnumMap<>(Kind.class))
+					.merge(kind, 1, Integer::sum);
+		}
+		Map<ClassNode, Set<Kind>> groups = new HashMap<>();
+		counts.forEach((cls, kinds) -> kinds.forEach((kind, count) -> {
+			if (count >= 2) {
+				groups.computeIfAbsent(cls, k -> EnumSet.noneOf(Kind.class)).add(kind);
+			}
+		}));
+		return new FinderGroups(groups);
+	}
+
+	/**
+	 * 开启运行时缓存时查找代码只在缓存未命中时执行，预先枚举成员反而每次启动都会扫描类；
+	 * XposedHelpers 不使用 EzXHelper 的查找链
+	 */
+	private static boolean isApplicable(CustomOptions options) {
+		return options.isGroupByClassEnable()
+				&& !options.isResolverCacheEnable()
+				&& options.getLanguage() != OutputLanguage.XPOSED_HELPERS;
+	}
+
+	private static Kind kindOf(ICodeNodeRef member) {
+		if (member instanceof FieldNode) {
+			return Kind.FIELD;
+		}
+		return ((MethodNode) member).isConstructor() ? Kind.CONSTRUCTOR : Kind.METHOD;
+	}
+
+	/**
+	 * @return 成员所属的成员列表变量名，不合并时为 null
+	 */
+	public String getMemberList(ICodeNodeRef member) {
+		Set<Kind> kinds = groups.get(Utils.getParentClass(member));
+		if (kinds == null) {
+			return null;
+		}
+		Kind kind = kindOf(member);
+		return kinds.contains(kind) ? kind.variable : null;
+	}
+
+	/**
+	 * 输出函数开头的成员列表声明，每行一个
+	 */
+	public void appendDeclarations(ClassNode cls, CodeEmitter emitter, StringBuilder sb) {
+		Set<Kind> kinds = groups.get(cls);
+		if (kinds == null) {
+			return;
+		}
+		for (Kind kind : kinds) {
+			if (sb.length() > 0) {
+				sb.append('\n');
+			}
+			emitter.appendMemberList(kind.finder, kind.variable, cls, sb);
+		}
+	}
+}
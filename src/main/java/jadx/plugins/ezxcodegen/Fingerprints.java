@@ -0,0 +1,119 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.plugins.input.data.AccessFlags;
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+
+/**
+ * 与混淆名称无关的成员指纹：只使用签名形状、访问标志、返回值类型及字符串常量，
+ * 应用内的类统一视为同一种类型，系统类保留类名。
+ */
+public class Fingerprints {
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	/**
+	 * 混淆前后可能变化的标志位不参与计算
+	 */
+	private static final int IGNORED_FLAGS = AccessFlags.SYNTHETIC | AccessFlags.BRIDGE;
+
+	private Fingerprints() {
+	}
+
+	public static long of(MethodNode mth) {
+		long hash = FNV_OFFSET;
+		hash = hash(hash, mth.isConstructor() ? "<init>" : "m");
+		hash = hash(hash, mth.getAccessFlags().rawValue() & ~IGNORED_FLAGS);
+		for (ArgType argType : mth.getArgTypes()) {
+			hash = hash(hash, typeShape(argType));
+		}
+		hash = hash(hash, typeShape(mth.getReturnType()));
+		for (String str : MethodFeatures.extract(mth).getStrings()) {
+			hash = hash(hash, str);
+		}
+		return hash;
+	}
+
+	public static long of(FieldNode fld) {
+		long hash = FNV_OFFSET;
+		hash = hash(hash, "f");
+		hash = hash(hash, fld.getAccessFlags().rawValue() & ~IGNORED_FLAGS);
+		return hash(hash, typeShape(fld.getType()));
+	}
+
+	/**
+	 * 类的形状：父类、接口、成员数量
+	 */
+	public static long of(ClassNode cls) {
+		long hash = FNV_OFFSET;
+		hash = hash(hash, cls.getAccessFlags().rawValue() & ~IGNORED_FLAGS);
+		if (cls.getSuperClass() != null) {
+			hash = hash(hash, typeShape(cls.getSuperClass()));
+		}
+		for (ArgType iface : cls.getInterfaces()) {
+			hash = hash(hash, typeShape(iface));
+		}
+		hash = hash(hash, cls.getMethods().size());
+		return hash(hash, cls.getFields().size());
+	}
+
+	/**
+	 * 类的声明内容哈希：与上面的指纹不同，包含原始名称，只要影响生成结果的声明
+	 * （本类的成员签名、访问标志、异常、注解）不变，哈希就不变，方法体的改动不影响
+	 */
+	public static long ofDeclarations(ClassNode cls) {
+		return hashDeclarations(FNV_OFFSET, cls);
+	}
+
+	private static long hashDeclarations(long hash, ClassNode cls) {
+		hash = hash(hash, cls.getRawName());
+		hash = hash(hash, cls.getAccessFlags().rawValue());
+		for (MethodNode mth : cls.getMethods()) {
+			hash = hash(hash, mth.getMethodInfo().getRawFullId());
+			hash = hash(hash, mth.getAccessFlags().rawValue());
+			for (ArgType throwType : Comparator.getThrows(mth)) {
+				hash = hash(hash, throwType.toString());
+			}
+			for (String annotation : Comparator.getRuntimeAnnotations(mth)) {
+				hash = hash(hash, annotation);
+			}
+		}
+		for (FieldNode fld : cls.getFields()) {
+			hash = hash(hash, fld.getFieldInfo().getRawFullId());
+			hash = hash(hash, fld.getAccessFlags().rawValue());
+		}
+		return hash;
+	}
+
+	public static String typeShape(ArgType type) {
+		if (type.isPrimitive()) {
+			return type.getPrimitiveType().getLongName();
+		}
+		if (type.isArray()) {
+			return "[" + typeShape(type.getArrayElement());
+		}
+		if (type.isObject()) {
+			String obj = type.getObject();
+			return Utils.isSystemClassName(obj) ? obj : "L";
+		}
+		return "?";
+	}
+
+	private static long hash(long hash, String str) {
+		for (int i = 0, len = str.length(); i < len; i++) {
+			hash = (hash ^ str.charAt(i)) * FNV_PRIME;
+		}
+		// 分隔符，避免 "ab" + "c" 与 "a" + "bc" 相同
+		return (hash ^ 0xff) * FNV_PRIME;
+	}
+
+	private static long hash(long hash, int value) {
+		for (int i = 0; i < 4; i++) {
+			hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+			value >>>= 8;
+		}
+		return hash;
+	}
+}
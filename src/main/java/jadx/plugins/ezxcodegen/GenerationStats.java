@@ -0,0 +1,72 @@
+package jadx.plugins.ezxcodegen;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 代码生成的统计信息，仅在调试模式下收集，避免在常规生成时产生额外开销
+ */
+public class GenerationStats {
+	private static final LongAdder SNIPPETS = new LongAdder();
+	private static final LongAdder GENERATION_NANOS = new LongAdder();
+	private static final LongAdder SOLVES = new LongAdder();
+	private static final LongAdder COMBINATIONS = new LongAdder();
+	private static final LongAdder SOLVER_NANOS = new LongAdder();
+	private static final LongAdder SELF_CHECK_FAILURES = new LongAdder();
+
+	private GenerationStats() {
+	}
+
+	public static void recordSnippet(long nanos) {
+		SNIPPETS.increment();
+		GENERATION_NANOS.add(nanos);
+	}
+
+	public static void recordSolve(int combinations, long nanos) {
+		SOLVES.increment();
+		COMBINATIONS.add(combinations);
+		SOLVER_NANOS.add(nanos);
+	}
+
+	public static void recordSelfCheckFailure() {
+		SELF_CHECK_FAILURES.increment();
+	}
+
+	public static void reset() {
+		SNIPPETS.reset();
+		GENERATION_NANOS.reset();
+		SOLVES.reset();
+		COMBINATIONS.reset();
+		SOLVER_NANOS.reset();
+		SELF_CHECK_FAILURES.reset();
+	}
+
+	public static String summary() {
+		return summary(null);
+	}
+
+	/**
+	 * @param snippetCache 可为 null（批量生成不经过代码缓存）
+	 */
+	public static String summary(SnippetCache snippetCache) {
+		long classObjectHits = 0;
+		long classObjectMisses = 0;
+		for (OutputLanguage language : OutputLanguage.values()) {
+			ClassObjectCache classObjectCache = language.getEmitter().getClassObjectCache();
+			classObjectHits += classObjectCache.getHits();
+			classObjectMisses += classObjectCache.getMisses();
+		}
+		String summary = "snippets=" + SNIPPETS.sum()
+				+ ", generation=" + TimeUnit.NANOSECONDS.toMillis(GENERATION_NANOS.sum()) + "ms"
+				+ ", solves=" + SOLVES.sum()
+				+ ", combinations=" + COMBINATIONS.sum()
+				+ ", solver=" + TimeUnit.NANOSECONDS.toMillis(SOLVER_NANOS.sum()) + "ms"
+				+ ", selfCheckFailures=" + SELF_CHECK_FAILURES.sum()
+				+ ", classObjectCache=" + classObjectHits + "/" + classObjectMisses
+				+ " (hits/misses)";
+		if (snippetCache != null) {
+			summary += ", snippetCache=" + snippetCache.getHits() + "/" + snippetCache.getMisses() + " (hits/misses)";
+		}
+		return summary;
+	}
+}
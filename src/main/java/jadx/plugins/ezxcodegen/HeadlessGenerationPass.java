@@ -0,0 +1,97 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.api.plugins.pass.JadxPassInfo;
+import jadx.api.plugins.pass.impl.SimpleJadxPassInfo;
+import jadx.api.plugins.pass.types.JadxAfterLoadPass;
+import jadx.core.utils.exceptions.JadxRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 无界面模式（jadx-cli）：加载完成后按签名文件生成 hook 代码并写入文件
+ */
+public class HeadlessGenerationPass implements JadxAfterLoadPass {
+	private static final Logger LOG = LoggerFactory.getLogger(HeadlessGenerationPass.class);
+
+	private final CustomOptions options;
+	private final Path input;
+	private final Path output;
+	private final String remapOldInput;
+
+	public HeadlessGenerationPass(CustomOptions options) {
+		this.options = options;
+		this.input = Paths.get(options.getCliSignatures());
+		this.output = Utils.isNotEmpty(options.getCliOutput())
+				? Paths.get(options.getCliOutput())
+				: input.resolveSibling(input.getFileName() + "." + options.getLanguage().getEmitter().getFileExtension());
+		this.remapOldInput = options.getRemapOldInput();
+	}
+
+	@Override
+	public JadxPassInfo getInfo() {
+		return new SimpleJadxPassInfo("EzxHeadlessGeneration", "Generate EzxHelper code for listed signatures");
+	}
+
+	@Override
+	public void init(JadxDecompiler decompiler) {
+		try {
+			List<String> signatures = Files.readAllLines(input, StandardCharsets.UTF_8);
+			List<ICodeNodeRef> members;
+			if (Utils.isNotEmpty(remapOldInput)) {
+				members = remap(decompiler, signatures);
+			} else {
+				members = new SignatureResolver(decompiler.getRoot()).resolve(signatures);
+			}
+			int count = new BatchGenerator(decompiler, options).generateMembers(members, output);
+			LOG.info("EzxHelper code generated for {} members: {}", count, output);
+		} catch (IOException e) {
+			throw new JadxRuntimeException("Failed to generate EzxHelper code from " + input, e);
+		}
+	}
+
+	/**
+	 * 签名属于旧版本：在旧版本中解析后映射到当前版本，映射结果写入 .mapping.txt
+	 */
+	private List<ICodeNodeRef> remap(JadxDecompiler decompiler, List<String> signatures) throws IOException {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(new File(remapOldInput));
+		args.setSkipResources(true);
+		args.setThreadsCount(decompiler.getArgs().getThreadsCount());
+		try (JadxDecompiler oldDecompiler = new JadxDecompiler(args)) {
+			oldDecompiler.load();
+			List<ICodeNodeRef> oldMembers = new SignatureResolver(oldDecompiler.getRoot()).resolve(signatures);
+			Map<ICodeNodeRef, ICodeNodeRef> mapping = new HookRemapper(decompiler.getRoot()).remap(oldMembers);
+
+			List<ICodeNodeRef> result = new ArrayList<>(mapping.size());
+			Path mappingFile = output.resolveSibling(output.getFileName() + ".mapping.txt");
+			try (BufferedWriter writer = Files.newBufferedWriter(mappingFile, StandardCharsets.UTF_8)) {
+				for (Map.Entry<ICodeNodeRef, ICodeNodeRef> entry : mapping.entrySet()) {
+					ICodeNodeRef newMember = entry.getValue();
+					writer.write(Utils.getRawId(entry.getKey()));
+					writer.write(" -> ");
+					writer.write(newMember == null ? "?" : Utils.getRawId(newMember));
+					writer.write('\n');
+					if (newMember != null) {
+						result.add(newMember);
+					}
+				}
+			}
+			LOG.info("Remapped {} of {} members from {}", result.size(), mapping.size(), remapOldInput);
+			return result;
+		}
+	}
+}
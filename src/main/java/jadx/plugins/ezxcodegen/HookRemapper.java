@@ -0,0 +1,96 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 跨版本重映射：在新版本中查找与旧版本成员指纹相同的成员。
+ * <p>
+ * 新版本的所有成员按指纹并行建立索引，旧版本只计算需要映射的成员，
+ * 指纹相同的候选不唯一时依次按所在类的形状、原始名称筛选。
+ */
+public class HookRemapper {
+	private static final Logger LOG = LoggerFactory.getLogger(HookRemapper.class);
+
+	private final Map<Long, List<ICodeNodeRef>> newIndex;
+	private final Map<ClassNode, Long> classShapes = new HashMap<>();
+
+	public HookRemapper(RootNode newRoot) {
+		this.newIndex = buildIndex(newRoot);
+	}
+
+	private static Map<Long, List<ICodeNodeRef>> buildIndex(RootNode root) {
+		return root.getClasses().parallelStream()
+				.flatMap(cls -> Stream.<ICodeNodeRef>concat(cls.getMethods().stream(), cls.getFields().stream()))
+				.collect(Collectors.groupingByConcurrent(HookRemapper::fingerprint));
+	}
+
+	private static long fingerprint(ICodeNodeRef member) {
+		if (member instanceof MethodNode) {
+			return Fingerprints.of((MethodNode) member);
+		}
+		return Fingerprints.of((FieldNode) member);
+	}
+
+	/**
+	 * @return 旧成员 -> 新成员，未能唯一匹配时值为 null
+	 */
+	public Map<ICodeNodeRef, ICodeNodeRef> remap(List<ICodeNodeRef> oldMembers) {
+		Map<ICodeNodeRef, ICodeNodeRef> result = new LinkedHashMap<>();
+		for (ICodeNodeRef oldMember : oldMembers) {
+			ICodeNodeRef newMember = match(oldMember);
+			if (newMember == null) {
+				LOG.warn("No unique match in new version for {}", Utils.getRawId(oldMember));
+			}
+			result.put(oldMember, newMember);
+		}
+		return result;
+	}
+
+	private ICodeNodeRef match(ICodeNodeRef oldMember) {
+		List<ICodeNodeRef> candidates = newIndex.getOrDefault(fingerprint(oldMember), Collections.emptyList());
+		if (candidates.size() <= 1) {
+			return candidates.isEmpty() ? null : candidates.get(0);
+		}
+		long oldClassShape = classShape(Utils.getParentClass(oldMember));
+		List<ICodeNodeRef> sameShape = new ArrayList<>();
+		for (ICodeNodeRef candidate : candidates) {
+			if (classShape(Utils.getParentClass(candidate)) == oldClassShape) {
+				sameShape.add(candidate);
+			}
+		}
+		if (sameShape.size() == 1) {
+			return sameShape.get(0);
+		}
+		// 名称未变化的成员
+		String oldId = Utils.getRawId(oldMember);
+		ICodeNodeRef sameName = null;
+		for (ICodeNodeRef candidate : sameShape.isEmpty() ? candidates : sameShape) {
+			if (Utils.getRawId(candidate).equals(oldId)) {
+				if (sameName != null) {
+					return null;
+				}
+				sameName = candidate;
+			}
+		}
+		return sameName;
+	}
+
+	private long classShape(ClassNode cls) {
+		return classShapes.computeIfAbsent(cls, Fingerprints::of);
+	}
+}
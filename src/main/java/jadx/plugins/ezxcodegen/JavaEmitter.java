@@ -0,0 +1,152 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.core.dex.instructions.args.ArgType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 输出 java 代码，查找部分与 kotlin 相同，hook 部分使用 {@code XposedBridge.hookMethod}
+ */
+public class JavaEmitter extends FinderEmitter {
+	public static final JavaEmitter INSTANCE = new JavaEmitter("EzXHelper.getClassLoader()");
+
+	/**
+	 * @param classLoader 运行时获取应用 ClassLoader 的表达式
+	 */
+	protected JavaEmitter(String classLoader) {
+		super(templates(classLoader));
+	}
+
+	private static Map<Part, String> templates(String classLoader) {
+		Map<Part, String> map = new EnumMap<>(Part.class);
+		map.put(Part.CLASS, "Class<?> {0}Class = ClassUtils.loadClass(\"{1}\");");
+		map.put(Part.FIELD_DECL, "Field {0}Field = ");
+		map.put(Part.FIELD_HEAD, "FieldFinder.fromClass({0})");
+		map.put(Part.FIELD_TAIL, ";");
+		map.put(Part.HOOK_START, "XposedBridge.hookMethod(");
+		map.put(Part.METHOD_HEAD, "{0}Finder.fromClass({1})");
+		map.put(Part.HOOK, ", new XC_MethodHook() {\n" +
+				"    @Override\n" +
+				"    protected void beforeHookedMethod(MethodHookParam param) {\n" +
+				"        \n" +
+				"    }\n" +
+				"});");
+		map.put(Part.NAME, "\n    .filterByName(\"{0}\")");
+		map.put(Part.ACCESS, "\n    .{0}()");
+		map.put(Part.MODIFIER, "\n    .filter{0}()");
+		map.put(Part.NON_MODIFIER, "\n    .filterNon{0}()");
+		map.put(Part.PARAM_COUNT, "\n    .filterByParamCount({0})");
+		map.put(Part.PARAM_TYPES, "\n    .filterByParamTypes({0})");
+		map.put(Part.RETURN_TYPE, "\n    .filterByReturnType({0})");
+		map.put(Part.TYPE, "\n    .filterByType({0})");
+		map.put(Part.EXCEPTIONS_EMPTY, "\n    .filter(m -> m.getExceptionTypes().length == 0)");
+		map.put(Part.EXCEPTIONS, "\n    .filter(m -> Arrays.equals(m.getExceptionTypes(), new Class<?>[]{{0}}))");
+		map.put(Part.ANNOTATIONS_EMPTY, "\n    .filter(m -> m.getDeclaredAnnotations().length == 0)");
+		map.put(Part.ANNOTATIONS, "\n    .filter(m -> Arrays.stream(m.getDeclaredAnnotations()).map(a -> a.annotationType().getName())" +
+				".collect(Collectors.toSet()).equals(new HashSet<>(Arrays.asList({0}))))");
+		map.put(Part.BRIDGE, "\n    .filter(m -> m.isBridge())");
+		map.put(Part.NON_BRIDGE, "\n    .filter(m -> !m.isBridge())");
+		map.put(Part.FIRST, ".first()");
+		map.put(Part.INDEX, ".toList().get({0})");
+		map.put(Part.FEATURE_HEAD, "bridge.findMethod(FindMethod.create().matcher(MethodMatcher.create()");
+		map.put(Part.FEATURE_STRINGS, "\n    .usingEqStrings({0})");
+		map.put(Part.FEATURE_INVOKE, "\n    .addInvoke(\"{0}\")");
+		map.put(Part.FEATURE_FIELD, "\n    .addUsingField(\"{0}\")");
+		map.put(Part.FEATURE_TAIL, "\n)).single().get{0}Instance(" + classLoader + ")");
+		map.put(Part.RESOLVER_HEAD, "HookResolver.{0}(\"{1}\", () -> ");
+		map.put(Part.RESOLVER_TAIL, ")");
+		map.put(Part.MEMBER_LIST, "java.util.List<java.lang.reflect.{3}> {1} = {0}Finder.fromClass({2}).toList();");
+		map.put(Part.GROUPED_FINDER, "{0}Finder.fromIterable({1})");
+		return map;
+	}
+
+	@Override
+	protected void appendStringContent(String str, StringBuilder sb) {
+		for (int i = 0, len = str.length(); i < len; i++) {
+			char c = str.charAt(i);
+			if (!appendEscape(c, sb)) {
+				sb.append(c);
+			}
+		}
+	}
+
+	@Override
+	protected String renderClassObject(ArgType type, boolean optimize) {
+		ArgType element = type;
+		while (element.isArray()) {
+			element = element.getArrayElement();
+		}
+		if (optimize && element.isObject() && !element.isGenericType() && !Utils.isSystemClassName(element.getObject())) {
+			if (type.isArray()) {
+				// ClassUtils.loadClass 不支持数组
+				return "XposedHelpers.findClass(\"" + binaryName(type) + "\", EzXHelper.getClassLoader())";
+			}
+			return "ClassUtils.loadClass(\"" + binaryName(type) + "\")";
+		}
+		return sourceName(type) + ".class";
+	}
+
+	/**
+	 * 源码中的类名，内部类用 . 分隔
+	 */
+	protected static String sourceName(ArgType type) {
+		if (type.isPrimitive()) {
+			return type.getPrimitiveType().getLongName();
+		}
+		if (type.isArray()) {
+			return sourceName(type.getArrayElement()) + "[]";
+		}
+		if (type.isGenericType() || !type.isObject()) {
+			return "Object";
+		}
+		String obj = type.getObject();
+		if (obj.startsWith("java.lang.") && obj.indexOf('.', 10) == -1) {
+			obj = obj.substring(10);
+		}
+		return obj.replace('$', '.');
+	}
+
+	/**
+	 * 运行时的类名，数组为 XposedHelpers.findClass 支持的 {@code Foo[]} 形式
+	 */
+	protected static String binaryName(ArgType type) {
+		if (type.isArray()) {
+			return binaryName(type.getArrayElement()) + "[]";
+		}
+		if (type.isPrimitive()) {
+			return type.getPrimitiveType().getLongName();
+		}
+		return type.getObject();
+	}
+
+	@Override
+	public String getFileExtension() {
+		return "java";
+	}
+
+	@Override
+	public String fileHeader() {
+		return "public class EzxHooks {\n";
+	}
+
+	@Override
+	public String fileFooter() {
+		return "}\n";
+	}
+
+	@Override
+	public String functionStart(String name) {
+		return "    static void " + name + "() {\n";
+	}
+
+	@Override
+	public String functionEnd() {
+		return "    }\n";
+	}
+
+	@Override
+	public String bodyIndent() {
+		return "        ";
+	}
+}
@@ -0,0 +1,184 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.core.dex.instructions.args.ArgType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 输出 kotlin 代码（默认）
+ */
+public class KotlinEmitter extends FinderEmitter {
+	public static final KotlinEmitter INSTANCE = new KotlinEmitter(false);
+	/**
+	 * 批量生成时使用，类对象输出为 {@link ClassHandleTable} 中的变量名
+	 */
+	private static final KotlinEmitter WITH_CLASS_HANDLES = new KotlinEmitter(true);
+
+	private static final Map<String, String> PRIMITIVE_TYPE_MAPPING = Map.of(
+			"int", "Int",
+			"byte", "Byte",
+			"short", "Short",
+			"long", "Long",
+			"float", "Float",
+			"double", "Double",
+			"char", "Char",
+			"boolean", "Boolean",
+			"void", "Void");
+
+	private final boolean classHandles;
+
+	private KotlinEmitter(boolean classHandles) {
+		super(templates());
+		this.classHandles = classHandles;
+	}
+
+	private static Map<Part, String> templates() {
+		Map<Part, String> map = new EnumMap<>(Part.class);
+		// ClassLoader classLoader = lpparam.classLoader;
+		// Class<?> fooClass = classLoader.loadClass("com.example.Foo");
+		map.put(Part.CLASS, "val {0}Class = ClassUtils.loadClass(\"{1}\")");
+		map.put(Part.FIELD_DECL, "val {0}Field = ");
+		map.put(Part.FIELD_HEAD, "FieldFinder.fromClass({0})");
+		map.put(Part.FIELD_TAIL, "");
+		map.put(Part.HOOK_START, "");
+		map.put(Part.METHOD_HEAD, "{0}Finder.fromClass({1})");
+		map.put(Part.HOOK, ".createHook {\n" +
+				"        before {\n" +
+				"            \n" +
+				"        }\n" +
+				"    }");
+		map.put(Part.NAME, "\n    .filterByName(\"{0}\")");
+		map.put(Part.ACCESS, "\n    .{0}()");
+		map.put(Part.MODIFIER, "\n    .filter{0}()");
+		map.put(Part.NON_MODIFIER, "\n    .filterNon{0}()");
+		map.put(Part.PARAM_COUNT, "\n    .filterByParamCount({0})");
+		map.put(Part.PARAM_TYPES, "\n    .filterByParamTypes({0})");
+		map.put(Part.RETURN_TYPE, "\n    .filterByReturnType({0})");
+		map.put(Part.TYPE, "\n    .filterByType({0})");
+		map.put(Part.EXCEPTIONS_EMPTY, "\n    .filter { exceptionTypes.isEmpty() }");
+		map.put(Part.EXCEPTIONS, "\n    .filter { exceptionTypes.contentEquals(arrayOf<Class<*>>({0})) }");
+		map.put(Part.ANNOTATIONS_EMPTY, "\n    .filter { declaredAnnotations.isEmpty() }");
+		map.put(Part.ANNOTATIONS, "\n    .filter { declaredAnnotations.map { it.annotationClass.java.name }.toSet() == setOf({0}) }");
+		map.put(Part.BRIDGE, "\n    .filter { isBridge }");
+		map.put(Part.NON_BRIDGE, "\n    .filter { !isBridge }");
+		map.put(Part.FIRST, ".first()");
+		map.put(Part.INDEX, ".toList()[{0}]");
+		map.put(Part.FEATURE_HEAD, "bridge.findMethod {\n    matcher {");
+		map.put(Part.FEATURE_STRINGS, "\n        usingEqStrings({0})");
+		map.put(Part.FEATURE_INVOKE, "\n        addInvoke(\"{0}\")");
+		map.put(Part.FEATURE_FIELD, "\n        addUsingField(\"{0}\")");
+		map.put(Part.FEATURE_TAIL, "\n    }\n}.single().get{0}Instance(EzXHelper.classLoader)");
+		map.put(Part.RESOLVER_HEAD, "HookResolver.{0}(\"{1}\") {\n    ");
+		map.put(Part.RESOLVER_TAIL, "\n}");
+		map.put(Part.MEMBER_LIST, "val {1} = {0}Finder.fromClass({2}).toList()");
+		map.put(Part.GROUPED_FINDER, "{0}Finder.fromIterable({1})");
+		return map;
+	}
+
+	/**
+	 * kotlin 字符串中的 $ 还需要额外转义 (should $+num be changed? )
+	 */
+	@Override
+	protected void appendStringContent(String str, StringBuilder sb) {
+		for (int i = 0, len = str.length(); i < len; i++) {
+			char c = str.charAt(i);
+			if (c == '$') {
+				sb.append("\\$");
+			} else if (!appendEscape(c, sb)) {
+				sb.append(c);
+			}
+		}
+	}
+
+	public static String fixTypeContent(ArgType type) {
+		if (type.isGeneric()) {
+			return type.getObject();
+		} else if (type.isPrimitive()) { // ::class.javaPrimitiveType
+			return PRIMITIVE_TYPE_MAPPING.getOrDefault(type.getPrimitiveType().getLongName(), "Object");
+		} else if (type.isObject() && type.getObject().startsWith("java.lang.")) {
+			return type.getObject().substring(10);
+		} else if (type.isGenericType() && type.isObject() && type.isTypeKnown()) {
+			return "Object";
+		} else if (type.isArray()) {
+			// jvmMain/kotlin/Arrays.kt
+			return PRIMITIVE_TYPE_MAPPING.getOrDefault(type.getArrayElement().toString(), "") + "Array";
+		}
+		// kotlin replace for inner class
+		return type.toString().replace("$", ".");
+	}
+
+	/**
+	 * @return 类对象写法为 ClassUtils.loadClass 时加载的类名，否则为 null
+	 */
+	static String getLoadedClassName(ArgType type, boolean optimize) {
+		if (!optimize) {
+			return null;
+		}
+		String baseClassName = fixTypeContent(type);
+		if (!baseClassName.contains(".") || Utils.isSystemClassName(baseClassName)) {
+			return null;
+		}
+		return type.isObject() ? type.getObject() : baseClassName;
+	}
+
+	@Override
+	public CodeEmitter withClassHandles() {
+		return WITH_CLASS_HANDLES;
+	}
+
+	@Override
+	protected String classArgument(String className) {
+		return classHandles ? ClassHandleTable.handleName(className) : super.classArgument(className);
+	}
+
+	@Override
+	protected String renderClassObject(ArgType type, boolean optimize) {
+		if (classHandles) {
+			String className = getLoadedClassName(type, optimize);
+			if (className != null) {
+				return ClassHandleTable.handleName(className);
+			}
+		}
+		String baseClassName = fixTypeContent(type);
+		String classRepresentation = baseClassName + "::class.java";
+
+		if (baseClassName.contains(".")) {
+			if (optimize && !Utils.isSystemClassName(baseClassName)) {
+				classRepresentation = "ClassUtils.loadClass(\"" + baseClassName + "\")";
+			}
+		}
+
+		return classRepresentation;
+	}
+
+	@Override
+	public String getFileExtension() {
+		return "kt";
+	}
+
+	@Override
+	public String fileHeader() {
+		return "";
+	}
+
+	@Override
+	public String fileFooter() {
+		return "";
+	}
+
+	@Override
+	public String functionStart(String name) {
+		return "fun " + name + "() {\n";
+	}
+
+	@Override
+	public String functionEnd() {
+		return "}\n";
+	}
+
+	@Override
+	public String bodyIndent() {
+		return "    ";
+	}
+}
@@ -0,0 +1,127 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.plugins.input.data.AccessFlags;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+
+/**
+ * 生成代码中的一个过滤条件，如 {@code .filterByName("a")}、{@code .filterNonStatic()}。
+ * <p>
+ * 条件本身不保存具体的值，而是表示“与目标成员的某个属性相同”，
+ * 同一个模型既用于输出代码，也用于在 dex 模型上校验生成结果（{@link ChainEvaluator}）。
+ */
+public final class MemberFilter {
+	private static final int ACCESS_MASK = AccessFlags.PUBLIC | AccessFlags.PRIVATE | AccessFlags.PROTECTED;
+
+	public enum Kind {
+		NAME,
+		/**
+		 * public / private / protected / 包访问权限
+		 */
+		ACCESS,
+		/**
+		 * 有或没有 {@link #getFlag()} 对应的修饰符
+		 */
+		MODIFIER,
+		PARAM_COUNT,
+		PARAM_TYPES,
+		RETURN_TYPE,
+		EXCEPTIONS,
+		ANNOTATIONS,
+		BRIDGE,
+		/**
+		 * 字段类型
+		 */
+		TYPE,
+	}
+
+	public static final MemberFilter NAME = new MemberFilter(Kind.NAME, 0, true);
+	public static final MemberFilter ACCESS = new MemberFilter(Kind.ACCESS, 0, true);
+	public static final MemberFilter PARAM_COUNT = new MemberFilter(Kind.PARAM_COUNT, 0, true);
+	public static final MemberFilter PARAM_TYPES = new MemberFilter(Kind.PARAM_TYPES, 0, true);
+	public static final MemberFilter RETURN_TYPE = new MemberFilter(Kind.RETURN_TYPE, 0, true);
+	public static final MemberFilter EXCEPTIONS = new MemberFilter(Kind.EXCEPTIONS, 0, true);
+	public static final MemberFilter ANNOTATIONS = new MemberFilter(Kind.ANNOTATIONS, 0, true);
+	public static final MemberFilter TYPE = new MemberFilter(Kind.TYPE, 0, true);
+
+	private final Kind kind;
+	private final int flag;
+	private final boolean expected;
+
+	private MemberFilter(Kind kind, int flag, boolean expected) {
+		this.kind = kind;
+		this.flag = flag;
+		this.expected = expected;
+	}
+
+	/**
+	 * @param flag     {@link AccessFlags} 中的修饰符
+	 * @param expected 目标成员是否有该修饰符
+	 */
+	public static MemberFilter modifier(int flag, boolean expected) {
+		return new MemberFilter(Kind.MODIFIER, flag, expected);
+	}
+
+	public static MemberFilter bridge(boolean expected) {
+		return new MemberFilter(Kind.BRIDGE, AccessFlags.BRIDGE, expected);
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	public int getFlag() {
+		return flag;
+	}
+
+	public boolean isExpected() {
+		return expected;
+	}
+
+	/**
+	 * 运行时该条件是否会保留 candidate，target 为生成代码的目标方法
+	 */
+	public boolean matches(MethodNode candidate, MethodNode target) {
+		switch (kind) {
+			case NAME:
+				return candidate.getMethodInfo().getName().equals(target.getMethodInfo().getName());
+			case PARAM_COUNT:
+				return candidate.getMethodInfo().getArgsCount() == target.getMethodInfo().getArgsCount();
+			case PARAM_TYPES:
+				return candidate.getMethodInfo().getArgumentsTypes().equals(target.getMethodInfo().getArgumentsTypes());
+			case RETURN_TYPE:
+				return candidate.getMethodInfo().getReturnType().equals(target.getMethodInfo().getReturnType());
+			case EXCEPTIONS:
+				return Comparator.getThrows(candidate).equals(Comparator.getThrows(target));
+			case ANNOTATIONS:
+				return Comparator.getRuntimeAnnotations(candidate).equals(Comparator.getRuntimeAnnotations(target));
+			default:
+				return matchesFlags(candidate.getAccessFlags().rawValue(), target.getAccessFlags().rawValue());
+		}
+	}
+
+	public boolean matches(FieldNode candidate, FieldNode target) {
+		switch (kind) {
+			case NAME:
+				return candidate.getFieldInfo().getName().equals(target.getFieldInfo().getName());
+			case TYPE:
+				return candidate.getFieldInfo().getType().equals(target.getFieldInfo().getType());
+			default:
+				return matchesFlags(candidate.getAccessFlags().rawValue(), target.getAccessFlags().rawValue());
+		}
+	}
+
+	private boolean matchesFlags(int candidateFlags, int targetFlags) {
+		if (kind == Kind.ACCESS) {
+			return (candidateFlags & ACCESS_MASK) == (targetFlags & ACCESS_MASK);
+		}
+		return ((candidateFlags & flag) != 0) == expected;
+	}
+
+	@Override
+	public String toString() {
+		return kind == Kind.MODIFIER || kind == Kind.BRIDGE
+				? kind + "(" + Integer.toHexString(flag) + "=" + expected + ")"
+				: kind.toString();
+	}
+}
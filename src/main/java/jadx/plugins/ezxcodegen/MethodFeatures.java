@@ -0,0 +1,99 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.plugins.input.data.ICodeReader;
+import jadx.api.plugins.input.data.IFieldRef;
+import jadx.api.plugins.input.data.IMethodRef;
+import jadx.api.plugins.input.insns.InsnIndexType;
+import jadx.core.dex.nodes.MethodNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 从方法的原始指令中提取特征（字符串常量、调用的方法、访问的字段），只读取 dex 指令，不会触发反编译。
+ * <p>
+ * 调用的方法与访问的字段使用 smali 描述符，如 {@code Landroid/util/Log;->d(Ljava/lang/String;Ljava/lang/String;)I}、
+ * {@code Lcom/example/Foo;->bar:I}，与 DexKit 的写法相同。
+ */
+public class MethodFeatures {
+	private static final MethodFeatures EMPTY = new MethodFeatures(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+	private final List<String> strings;
+	private final List<String> invokes;
+	private final List<String> fields;
+
+	MethodFeatures(List<String> strings, List<String> invokes, List<String> fields) {
+		this.strings = strings;
+		this.invokes = invokes;
+		this.fields = fields;
+	}
+
+	public static MethodFeatures extract(MethodNode mth) {
+		ICodeReader codeReader = mth.getCodeReader();
+		if (codeReader == null) {
+			return EMPTY;
+		}
+		TreeSet<String> strings = new TreeSet<>();
+		TreeSet<String> invokes = new TreeSet<>();
+		TreeSet<String> fields = new TreeSet<>();
+		codeReader.visitInstructions(insn -> {
+			InsnIndexType indexType = insn.getIndexType();
+			if (indexType == InsnIndexType.STRING_REF) {
+				insn.decode();
+				strings.add(insn.getIndexAsString());
+			} else if (indexType == InsnIndexType.METHOD_REF) {
+				insn.decode();
+				invokes.add(methodDescriptor(insn.getIndexAsMethod()));
+			} else if (indexType == InsnIndexType.FIELD_REF) {
+				insn.decode();
+				fields.add(fieldDescriptor(insn.getIndexAsField()));
+			}
+		});
+		return new MethodFeatures(toList(strings), toList(invokes), toList(fields));
+	}
+
+	private static List<String> toList(TreeSet<String> set) {
+		return set.isEmpty() ? Collections.emptyList() : new ArrayList<>(set);
+	}
+
+	private static String methodDescriptor(IMethodRef mthRef) {
+		mthRef.load();
+		StringBuilder sb = new StringBuilder();
+		sb.append(mthRef.getParentClassType()).append("->").append(mthRef.getName()).append('(');
+		for (String argType : mthRef.getArgTypes()) {
+			sb.append(argType);
+		}
+		return sb.append(')').append(mthRef.getReturnType()).toString();
+	}
+
+	private static String fieldDescriptor(IFieldRef fldRef) {
+		return fldRef.getParentClassType() + "->" + fldRef.getName() + ':' + fldRef.getType();
+	}
+
+	/**
+	 * 使用的字符串常量，已排序去重
+	 */
+	public List<String> getStrings() {
+		return strings;
+	}
+
+	/**
+	 * 调用的方法描述符，已排序去重
+	 */
+	public List<String> getInvokes() {
+		return invokes;
+	}
+
+	/**
+	 * 读写的字段描述符，已排序去重
+	 */
+	public List<String> getFields() {
+		return fields;
+	}
+
+	public boolean isEmpty() {
+		return strings.isEmpty() && invokes.isEmpty() && fields.isEmpty();
+	}
+}
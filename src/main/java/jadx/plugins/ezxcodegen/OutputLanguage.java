@@ -0,0 +1,29 @@
+package jadx.plugins.ezxcodegen;
+
+/**
+ * 生成代码的语言
+ */
+public enum OutputLanguage {
+	/**
+	 * EzXHelper + kotlin
+	 */
+	KOTLIN(KotlinEmitter.INSTANCE),
+	/**
+	 * EzXHelper + java
+	 */
+	JAVA(JavaEmitter.INSTANCE),
+	/**
+	 * 只使用 XposedHelpers 的 java
+	 */
+	XPOSED_HELPERS(XposedEmitter.INSTANCE);
+
+	private final CodeEmitter emitter;
+
+	OutputLanguage(CodeEmitter emitter) {
+		this.emitter = emitter;
+	}
+
+	public CodeEmitter getEmitter() {
+		return emitter;
+	}
+}
@@ -0,0 +1,45 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.plugins.pass.JadxPassInfo;
+import jadx.api.plugins.pass.impl.SimpleJadxPassInfo;
+import jadx.api.plugins.pass.types.JadxDecompilePass;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+
+/**
+ * 类被反编译时通知后台预生成，不修改反编译结果；开启特征查找时在加载完成后于后台构建特征索引
+ */
+public class PreGenerationPass implements JadxDecompilePass {
+	private final PreGenerationService service;
+	private final CustomOptions options;
+
+	public PreGenerationPass(PreGenerationService service, CustomOptions options) {
+		this.service = service;
+		this.options = options;
+	}
+
+	@Override
+	public JadxPassInfo getInfo() {
+		return new SimpleJadxPassInfo("EzxPreGeneration", "Pre-generate EzxHelper code in background");
+	}
+
+	@Override
+	public void init(RootNode root) {
+		// 加载完成后即开始构建特征索引，首次点击生成时通常已经可用
+		if (options.isFeatureLookupEnable()) {
+			FeatureIndex.buildInBackground(root);
+		}
+	}
+
+	@Override
+	public boolean visit(ClassNode cls) {
+		service.schedule(cls);
+		// 内部类与方法在 precompute 中一起处理
+		return false;
+	}
+
+	@Override
+	public void visit(MethodNode mth) {
+	}
+}
@@ -0,0 +1,54 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.core.dex.nodes.ClassNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在后台线程中预先生成已打开（已反编译）类的代码，点击菜单时只需查询缓存
+ */
+public class PreGenerationService {
+	private static final Logger LOG = LoggerFactory.getLogger(PreGenerationService.class);
+
+	/**
+	 * 等待预生成的类数量上限，超出时丢弃最早提交的任务
+	 */
+	private static final int QUEUE_CAPACITY = 256;
+
+	private final CodeGenerator generator;
+	private final ThreadPoolExecutor executor;
+
+	public PreGenerationService(CodeGenerator generator) {
+		this.generator = generator;
+		this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+				r -> {
+					Thread thread = new Thread(r, "ezx-codegen-pregen");
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+					return thread;
+				},
+				new ThreadPoolExecutor.DiscardOldestPolicy());
+	}
+
+	public void schedule(ClassNode cls) {
+		if (executor.isShutdown()) {
+			return;
+		}
+		executor.execute(() -> {
+			try {
+				generator.precompute(cls);
+			} catch (Exception e) {
+				LOG.debug("Pre-generation failed for {}", cls, e);
+			}
+		});
+	}
+
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+}
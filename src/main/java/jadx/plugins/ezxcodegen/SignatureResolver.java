@@ -0,0 +1,129 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.core.dex.nodes.RootNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 将签名列表解析为方法 / 字段节点，只读取已加载的类信息，不会触发反编译。
+ * <p>
+ * 每行一个签名，支持以下格式（# 开头的行为注释）：
+ * <ul>
+ *     <li>{@code com.example.Foo}：类中所有方法</li>
+ *     <li>{@code com.example.Foo#bar}：名为 bar 的所有方法与字段</li>
+ *     <li>{@code com.example.Foo#bar(ILjava/lang/String;)V}：指定签名的方法</li>
+ *     <li>{@code regex:<pattern>}：匹配 {@code 类名#方法签名} 或 {@code 类名#字段名} 的所有成员</li>
+ * </ul>
+ */
+public class SignatureResolver {
+	private static final Logger LOG = LoggerFactory.getLogger(SignatureResolver.class);
+
+	private static final String REGEX_PREFIX = "regex:";
+
+	private final RootNode root;
+	private Map<String, ClassNode> classesByName;
+
+	public SignatureResolver(RootNode root) {
+		this.root = root;
+	}
+
+	public List<ICodeNodeRef> resolve(List<String> signatures) {
+		Set<ICodeNodeRef> result = new LinkedHashSet<>();
+		for (String line : signatures) {
+			String signature = line.trim();
+			if (signature.isEmpty() || signature.startsWith("#")) {
+				continue;
+			}
+			int before = result.size();
+			if (signature.startsWith(REGEX_PREFIX)) {
+				result.addAll(resolveRegex(Pattern.compile(signature.substring(REGEX_PREFIX.length()))));
+			} else {
+				resolveSignature(signature, result);
+			}
+			if (result.size() == before) {
+				LOG.warn("No member found for signature: {}", signature);
+			}
+		}
+		return new ArrayList<>(result);
+	}
+
+	private void resolveSignature(String signature, Set<ICodeNodeRef> result) {
+		int sep = signature.indexOf('#');
+		String clsName = sep == -1 ? signature : signature.substring(0, sep);
+		ClassNode cls = getClassesByName().get(clsName);
+		if (cls == null) {
+			return;
+		}
+		if (sep == -1) {
+			for (MethodNode mth : cls.getMethods()) {
+				if (BatchGenerator.canHook(mth)) {
+					result.add(mth);
+				}
+			}
+			return;
+		}
+		String member = signature.substring(sep + 1);
+		if (member.indexOf('(') != -1) {
+			for (MethodNode mth : cls.getMethods()) {
+				if (mth.getMethodInfo().getShortId().equals(member)) {
+					result.add(mth);
+				}
+			}
+			return;
+		}
+		result.addAll(ClassIndex.of(cls).getMethodsByName(member));
+		for (FieldNode fld : cls.getFields()) {
+			if (fld.getFieldInfo().getName().equals(member)) {
+				result.add(fld);
+			}
+		}
+	}
+
+	/**
+	 * 按类并行匹配，结果保持类的原有顺序
+	 */
+	private List<ICodeNodeRef> resolveRegex(Pattern pattern) {
+		return root.getClasses().parallelStream()
+				.flatMap(cls -> {
+					List<ICodeNodeRef> matched = new ArrayList<>();
+					String prefix = cls.getRawName() + '#';
+					for (MethodNode mth : cls.getMethods()) {
+						if (BatchGenerator.canHook(mth) && pattern.matcher(prefix + mth.getMethodInfo().getShortId()).find()) {
+							matched.add(mth);
+						}
+					}
+					for (FieldNode fld : cls.getFields()) {
+						if (pattern.matcher(prefix + fld.getFieldInfo().getName()).find()) {
+							matched.add(fld);
+						}
+					}
+					return matched.stream();
+				})
+				.collect(Collectors.toList());
+	}
+
+	private Map<String, ClassNode> getClassesByName() {
+		if (classesByName == null) {
+			List<ClassNode> classes = root.getClasses();
+			Map<String, ClassNode> map = new HashMap<>(classes.size());
+			for (ClassNode cls : classes) {
+				map.put(cls.getRawName(), cls);
+			}
+			classesByName = map;
+		}
+		return classesByName;
+	}
+}
@@ -0,0 +1,68 @@
+package jadx.plugins.ezxcodegen;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 已生成代码的缓存，键为节点的原始 id 与当前配置，容量有上限（LRU 淘汰），线程安全
+ */
+public class SnippetCache {
+	private final int capacity;
+	private final Map<String, String> cache;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	public SnippetCache(int capacity) {
+		this.capacity = capacity;
+		this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > SnippetCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * 配置不同时生成结果不同，需要一起作为键
+	 */
+	public static String key(String rawId, CustomOptions options) {
+		return rawId + '#' + options.getOptionsHash();
+	}
+
+	public String get(String key) {
+		String snippet;
+		synchronized (cache) {
+			snippet = cache.get(key);
+		}
+		if (snippet != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return snippet;
+	}
+
+	public void put(String key, String snippet) {
+		synchronized (cache) {
+			cache.put(key, snippet);
+		}
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public void clear() {
+		synchronized (cache) {
+			cache.clear();
+		}
+		hits.reset();
+		misses.reset();
+	}
+}
@@ -0,0 +1,77 @@
+package jadx.plugins.ezxcodegen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 预编译的代码模板，{@code {0}}、{@code {1}} 为参数占位符，其余字符原样输出。
+ * <p>
+ * 模板在加载时解析为“常量片段 / 参数下标”的序列，输出时按顺序拼接，
+ * 不像 {@link String#format} 那样每次调用都重新解析格式串。
+ */
+public final class Template {
+	/**
+	 * 常量片段为 String，参数为 Integer 下标
+	 */
+	private final Object[] segments;
+	private final int literalLength;
+
+	private Template(Object[] segments, int literalLength) {
+		this.segments = segments;
+		this.literalLength = literalLength;
+	}
+
+	public static Template compile(String template) {
+		List<Object> segments = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		int literalLength = 0;
+		for (int i = 0, len = template.length(); i < len; i++) {
+			char c = template.charAt(i);
+			int end = c == '{' ? template.indexOf('}', i) : -1;
+			if (end > i + 1 && isDigits(template, i + 1, end)) {
+				if (literal.length() > 0) {
+					segments.add(literal.toString());
+					literalLength += literal.length();
+					literal.setLength(0);
+				}
+				segments.add(Integer.parseInt(template.substring(i + 1, end)));
+				i = end;
+			} else {
+				literal.append(c);
+			}
+		}
+		if (literal.length() > 0) {
+			segments.add(literal.toString());
+			literalLength += literal.length();
+		}
+		return new Template(segments.toArray(), literalLength);
+	}
+
+	private static boolean isDigits(String str, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (!Character.isDigit(str.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public StringBuilder appendTo(StringBuilder sb, String... args) {
+		for (Object segment : segments) {
+			if (segment instanceof String) {
+				sb.append((String) segment);
+			} else {
+				sb.append(args[(Integer) segment]);
+			}
+		}
+		return sb;
+	}
+
+	public String render(String... args) {
+		int length = literalLength;
+		for (String arg : args) {
+			length += arg.length();
+		}
+		return appendTo(new StringBuilder(length), args).toString();
+	}
+}
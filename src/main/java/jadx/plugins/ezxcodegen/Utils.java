@@ -1,10 +1,15 @@
 package jadx.plugins.ezxcodegen;
 
+import jadx.api.JadxDecompiler;
+import jadx.api.JavaClass;
+import jadx.api.JavaField;
+import jadx.api.JavaMethod;
+import jadx.api.JavaNode;
+import jadx.api.metadata.ICodeNodeRef;
 import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
 import jadx.core.dex.nodes.MethodNode;
-
-import java.util.ArrayList;
-import java.util.List;
+import jadx.core.utils.exceptions.JadxRuntimeException;
 
 public class Utils {
 
@@ -12,11 +17,88 @@ public class Utils {
 		return s != null && !s.trim().isEmpty();
 	}
 
+	/**
+	 * 本类中是否存在其他同名方法
+	 */
 	public static boolean anyOtherSameNameMethod(MethodNode mth) {
-		ClassNode classNode = mth.getParentClass();
-		return classNode.getMethods().stream().anyMatch(
-				m -> m.getName().equals(mth.getName()) && m != mth
-		);
+		return ClassIndex.of(mth.getParentClass()).getMethodsByName(mth.getMethodInfo().getName()).size() > 1;
+	}
+
+	/**
+	 * 将菜单传入的引用转换为 ClassNode / MethodNode / FieldNode，只使用已加载的元数据。
+	 * <p>
+	 * jadx-gui 传入的通常就是节点本身；{@link JadxDecompiler#getJavaNodeByRef} 获取方法 / 字段的包装对象时
+	 * 会反编译所在的类，只在无法直接识别时兜底使用。
+	 *
+	 * @return 不支持的节点类型返回 null
+	 */
+	public static ICodeNodeRef toNode(JadxDecompiler decompiler, ICodeNodeRef ref) {
+		if (ref instanceof ClassNode || ref instanceof MethodNode || ref instanceof FieldNode) {
+			return ref;
+		}
+		JavaNode node = ref == null ? null : decompiler.getJavaNodeByRef(ref);
+		if (node instanceof JavaMethod) {
+			return ((JavaMethod) node).getMethodNode();
+		}
+		if (node instanceof JavaField) {
+			return ((JavaField) node).getFieldNode();
+		}
+		if (node instanceof JavaClass) {
+			return ((JavaClass) node).getClassNode();
+		}
+		return null;
+	}
+
+	/**
+	 * 获取方法 / 字段所在的类，类节点返回自身
+	 */
+	public static ClassNode getParentClass(ICodeNodeRef node) {
+		if (node instanceof MethodNode) {
+			return ((MethodNode) node).getParentClass();
+		}
+		if (node instanceof FieldNode) {
+			return ((FieldNode) node).getParentClass();
+		}
+		if (node instanceof ClassNode) {
+			return (ClassNode) node;
+		}
+		throw new JadxRuntimeException("Unsupported node type: " + (node != null ? node.getClass() : "null"));
+	}
+
+	/**
+	 * 获取节点的原始 id（不受重命名影响）
+	 */
+	public static String getRawId(ICodeNodeRef node) {
+		if (node instanceof MethodNode) {
+			return ((MethodNode) node).getMethodInfo().getRawFullId();
+		}
+		if (node instanceof FieldNode) {
+			return ((FieldNode) node).getFieldInfo().getRawFullId();
+		}
+		return getParentClass(node).getRawName();
+	}
+
+	/**
+	 * 获取方法 / 字段的原始名称
+	 */
+	public static String getName(ICodeNodeRef node) {
+		if (node instanceof MethodNode) {
+			return ((MethodNode) node).getMethodInfo().getName();
+		}
+		if (node instanceof FieldNode) {
+			return ((FieldNode) node).getFieldInfo().getName();
+		}
+		return getParentClass(node).getRawName();
+	}
+
+	public static int getAccessFlags(ICodeNodeRef node) {
+		if (node instanceof MethodNode) {
+			return ((MethodNode) node).getAccessFlags().rawValue();
+		}
+		if (node instanceof FieldNode) {
+			return ((FieldNode) node).getAccessFlags().rawValue();
+		}
+		return getParentClass(node).getAccessFlags().rawValue();
 	}
 
 	public static String lowerCaseFirst(String val) {
@@ -26,24 +108,36 @@ public class Utils {
 		return new String(arr);
 	}
 
-	public static <T> List<List<T>> getAllCombinations(List<T> arr, int targetSize) {
-		List<List<T>> result = new ArrayList<>();
-		List<T> combination = new ArrayList<>();
-		getCombinations(arr, 0, 0, targetSize, combination, result);
-		return result;
+	/**
+	 * 系统类在运行时名称固定，不会被混淆
+	 */
+	public static boolean isSystemClassName(String className) {
+		return className.startsWith("android.") || className.startsWith("androidx.") ||
+				className.startsWith("jdk.") || className.startsWith("dalvik.") ||
+				className.startsWith("java.") || className.startsWith("javax.");
 	}
 
-	private static <T> void getCombinations(List<T> arr, int start, int index, int targetSize, List<T> combination, List<List<T>> result) {
-		if (index == targetSize) {
-			result.add(new ArrayList<>(combination));
-			return;
+	/**
+	 * 转换为合法的 kotlin / java 标识符
+	 */
+	public static String toIdentifier(String val) {
+		StringBuilder sb = new StringBuilder(val.length());
+		for (int i = 0; i < val.length(); i++) {
+			char c = val.charAt(i);
+			boolean valid = i == 0 ? Character.isJavaIdentifierStart(c) : Character.isJavaIdentifierPart(c);
+			sb.append(valid ? c : '_');
 		}
+		return sb.toString();
+	}
 
-		for (int i = start; i < arr.size(); i++) {
-			combination.add(arr.get(i));
-			getCombinations(arr, i + 1, index + 1, targetSize, combination, result);
-			combination.remove(combination.size() - 1);
+	/**
+	 * 类型描述符转换为运行时类名，如 Lcom/example/Foo$Bar; -> com.example.Foo$Bar
+	 */
+	public static String descriptorToClassName(String descriptor) {
+		if (descriptor.startsWith("L") && descriptor.endsWith(";")) {
+			descriptor = descriptor.substring(1, descriptor.length() - 1);
 		}
+		return descriptor.replace('/', '.');
 	}
 
 	public static String getMethodString(MethodNode mth) {
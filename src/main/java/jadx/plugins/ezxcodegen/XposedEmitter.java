@@ -0,0 +1,105 @@
+package jadx.plugins.ezxcodegen;
+
+import jadx.core.dex.instructions.args.ArgType;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.FieldNode;
+import jadx.core.dex.nodes.MethodNode;
+
+import java.util.Map;
+
+/**
+ * 输出只依赖 XposedHelpers 的 java 代码，不需要 EzXHelper。
+ * <p>
+ * XposedHelpers 只能按名称与参数类型查找，无法表达比较器搜索出的其他区分条件，此时输出警告。
+ */
+public class XposedEmitter extends JavaEmitter {
+	public static final XposedEmitter INSTANCE = new XposedEmitter();
+
+	private static final Map<String, String> PRIMITIVE_TYPE_MAPPING = Map.of(
+			"int", "Int",
+			"byte", "Byte",
+			"short", "Short",
+			"long", "Long",
+			"float", "Float",
+			"double", "Double",
+			"char", "Char",
+			"boolean", "Boolean");
+
+	private static final Template CLASS = Template.compile("ClassLoader classLoader = lpparam.classLoader;\n" +
+			"Class<?> {0}Class = classLoader.loadClass(\"{1}\");");
+	private static final Template FIELD = Template.compile("XposedHelpers.get{0}Field({1}, \"{2}\");");
+	private static final Template FIND_CLASS = Template.compile("XposedHelpers.findClass(\"{0}\", lpparam.classLoader)");
+	private static final Template METHOD = Template.compile("XposedHelpers.findAndHookMethod(\"{0}\", lpparam.classLoader, \"{1}\", ");
+	private static final Template CONSTRUCTOR = Template.compile("XposedHelpers.findAndHookConstructor(\"{0}\", lpparam.classLoader, ");
+	private static final Template HOOK = Template.compile("new XC_MethodHook() {\n" +
+			"    @Override\n" +
+			"    protected void beforeHookedMethod(MethodHookParam param) {\n" +
+			"        \n" +
+			"    }\n" +
+			"});");
+	private static final Template UNSUPPORTED = Template.compile("// Warning: XposedHelpers only matches by name and parameter types, " +
+			"other {0} with the same signature can not be excluded.\n");
+
+	private XposedEmitter() {
+		super("lpparam.classLoader");
+	}
+
+	@Override
+	public void appendClass(ClassNode cls, CustomOptions options, StringBuilder sb) {
+		CLASS.appendTo(sb, Utils.lowerCaseFirst(cls.getShortName()), cls.getRawName());
+	}
+
+	@Override
+	public void appendField(FilterChain chain, CustomOptions options, StringBuilder sb) {
+		FieldNode fld = (FieldNode) chain.getTarget();
+		appendUnsupported(chain, "fields", sb);
+		boolean isStatic = fld.getAccessFlags().isStatic();
+		String type = PRIMITIVE_TYPE_MAPPING.getOrDefault(fld.getFieldInfo().getType().toString(), "Object");
+		String target = isStatic ? FIND_CLASS.render(fld.getParentClass().getRawName()) : "/*runtimeObject*/";
+		FIELD.appendTo(sb, (isStatic ? "Static" : "") + type, target, fld.getFieldInfo().getName());
+	}
+
+	@Override
+	public void appendMethod(FilterChain chain, CustomOptions options, StringBuilder sb) {
+		MethodNode mth = (MethodNode) chain.getTarget();
+		appendUnsupported(chain, "methods", sb);
+		if (mth.isConstructor()) {
+			CONSTRUCTOR.appendTo(sb, mth.getParentClass().getRawName());
+		} else {
+			METHOD.appendTo(sb, mth.getParentClass().getRawName(), mth.getMethodInfo().getName());
+		}
+		for (ArgType argType : mth.getMethodInfo().getArgumentsTypes()) {
+			sb.append(classObject(argType, options.isClassOptimizationEnable())).append(", ");
+		}
+		HOOK.appendTo(sb);
+	}
+
+	/**
+	 * 只有继承的 DexKit 特征查找会包装为 HookResolver，XposedHelpers 的调用本身不缓存
+	 */
+	@Override
+	public boolean usesResolver(CustomOptions options) {
+		return options.isResolverCacheEnable() && options.isFeatureLookupEnable();
+	}
+
+	private static void appendUnsupported(FilterChain chain, String members, StringBuilder sb) {
+		if (chain.isUniqueFailed() || !chain.getUnique().isEmpty()) {
+			UNSUPPORTED.appendTo(sb, members);
+		}
+	}
+
+	/**
+	 * 应用内的类直接传类名，由 XposedHelpers 使用 lpparam.classLoader 加载
+	 */
+	@Override
+	protected String renderClassObject(ArgType type, boolean optimize) {
+		ArgType element = type;
+		while (element.isArray()) {
+			element = element.getArrayElement();
+		}
+		if (element.isObject() && !element.isGenericType() && !Utils.isSystemClassName(element.getObject())) {
+			return "\"" + binaryName(type) + "\"";
+		}
+		return sourceName(type) + ".class";
+	}
+}
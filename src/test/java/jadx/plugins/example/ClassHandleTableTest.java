@@ -0,0 +1,80 @@
+package jadx.plugins.example;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.plugins.ezxcodegen.BatchGenerator;
+import jadx.plugins.ezxcodegen.ClassHandleTable;
+import jadx.plugins.ezxcodegen.CustomOptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassHandleTableTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void handleNames() {
+		assertThat(ClassHandleTable.handleName("com.example.Foo")).isEqualTo("cls_com_example_Foo");
+		assertThat(ClassHandleTable.handleName("a.b$c")).isEqualTo("cls_a_b_0c");
+		// 容易混淆的类名得到不同的变量名
+		assertThat(ClassHandleTable.handleName("a.b_0c")).isEqualTo("cls_a_b_10c");
+		assertThat(ClassHandleTable.handleName("a.b_c")).isNotEqualTo(ClassHandleTable.handleName("a.b.c"));
+		assertThat(ClassHandleTable.handleName("a._b")).isEqualTo("cls_a_3_1b");
+		assertThat(ClassHandleTable.handleName("a.1b")).isEqualTo("cls_a_31b");
+		assertThat(ClassHandleTable.handleName("a.é")).isEqualTo("cls_a_3_200e9");
+	}
+
+	@Test
+	public void batchUsesHandles() throws Exception {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getSampleFile("inner.smali"));
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			BatchGenerator generator = new BatchGenerator(jadx, withClassHandles());
+			Path output = tempDir.resolve("hooks.kt");
+			generator.generate(generator.collectAll(), output);
+			String code = Files.readString(output);
+
+			String cls = "cls_com_cmccit_webview_customview_WebViewEx_0WebChromeClientEx_01";
+			assertThat(code).contains("MethodFinder.fromClass(" + cls + ")");
+			assertThat(code).contains("FieldFinder.fromClass(" + cls + ")");
+			assertThat(code).contains(".filterByParamTypes(cls_com_tencent_smtt_sdk_WebView, ");
+			assertThat(code).doesNotContain("fromClass(\"");
+			assertThat(code).contains("val " + cls
+					+ " by lazy { ClassUtils.loadClass(\"com.cmccit.webview.customview.WebViewEx\\$WebChromeClientEx\\$1\") }");
+			assertThat(code).contains("val cls_com_tencent_smtt_sdk_WebView by lazy { ClassUtils.loadClass(\"com.tencent.smtt.sdk.WebView\") }");
+			// 类只在文件末尾的变量中加载
+			for (String line : code.split("\n")) {
+				if (line.contains("ClassUtils.loadClass(")) {
+					assertThat(line).startsWith("val cls_");
+				}
+			}
+		}
+	}
+
+	private static CustomOptions withClassHandles() throws ReflectiveOperationException {
+		CustomOptions options = new CustomOptions();
+		for (String name : new String[] { "classOptimizationEnable", "classHandleEnable" }) {
+			Field field = CustomOptions.class.getDeclaredField(name);
+			field.setAccessible(true);
+			field.set(options, true);
+		}
+		return options;
+	}
+
+	private File getSampleFile(String fileName) throws URISyntaxException {
+		URL file = getClass().getClassLoader().getResource("samples/" + fileName);
+		assertThat(file).isNotNull();
+		return new File(file.toURI());
+	}
+}
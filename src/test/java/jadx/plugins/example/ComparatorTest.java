@@ -0,0 +1,94 @@
+package jadx.plugins.example;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.plugins.ezxcodegen.ClassIndex;
+import jadx.plugins.ezxcodegen.Comparator;
+import jadx.plugins.ezxcodegen.CustomOptions;
+import jadx.plugins.ezxcodegen.MemberFilter;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComparatorTest {
+
+	@Test
+	public void comparatorPicksCheapestFilter() throws Exception {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getSampleFile("inner.smali"));
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			ClassNode cls = jadx.getRoot().getClasses().get(0);
+			MethodNode onPageStarted = cls.searchMethodByShortName("onPageStarted");
+			MethodNode shouldOverride = cls.searchMethodByShortName("shouldOverrideUrlLoading");
+
+			// 参数数量与返回值类型都不同，参数数量的代价更小
+			Comparator comparator = new Comparator(onPageStarted, Collections.singletonList(shouldOverride), new CustomOptions());
+			assertThat(comparator.searchUniqueFilters()).containsExactly(MemberFilter.PARAM_COUNT);
+		}
+	}
+
+	@Test
+	public void noCriteriaLeft() throws Exception {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getSampleFile("inner.smali"));
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			ClassNode cls = jadx.getRoot().getClasses().get(0);
+			MethodNode onPageStarted = cls.searchMethodByShortName("onPageStarted");
+
+			// 与自身无法区分
+			Comparator comparator = new Comparator(onPageStarted, Collections.singletonList(onPageStarted), new CustomOptions());
+			assertThat(comparator.searchUniqueFilters()).isNull();
+		}
+	}
+
+	@Test
+	public void bridgeMethod() throws Exception {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getSampleFile("bridge.smali"));
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			ClassNode cls = jadx.getRoot().getClasses().get(0);
+			MethodNode impl = null;
+			MethodNode bridge = null;
+			for (MethodNode mth : cls.getMethods()) {
+				if (mth.getName().equals("call")) {
+					if (mth.getAccessFlags().isBridge()) {
+						bridge = mth;
+					} else {
+						impl = mth;
+					}
+				}
+			}
+			assertThat(impl).isNotNull();
+			assertThat(bridge).isNotNull();
+			assertThat(ClassIndex.getConfusedMethods(impl)).containsExactly(bridge);
+
+			// 返回值类型与桥接标志都不同，桥接标志的代价更小
+			assertBridgeFilter(new Comparator(impl, ClassIndex.getConfusedMethods(impl), new CustomOptions()), false);
+			assertBridgeFilter(new Comparator(bridge, ClassIndex.getConfusedMethods(bridge), new CustomOptions()), true);
+		}
+	}
+
+	private static void assertBridgeFilter(Comparator comparator, boolean expected) {
+		List<MemberFilter> filters = comparator.searchUniqueFilters();
+		assertThat(filters).hasSize(1);
+		assertThat(filters.get(0).getKind()).isEqualTo(MemberFilter.Kind.BRIDGE);
+		assertThat(filters.get(0).isExpected()).isEqualTo(expected);
+	}
+
+	private File getSampleFile(String fileName) throws URISyntaxException {
+		URL file = getClass().getClassLoader().getResource("samples/" + fileName);
+		assertThat(file).isNotNull();
+		return new File(file.toURI());
+	}
+}
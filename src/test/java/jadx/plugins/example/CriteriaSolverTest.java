@@ -0,0 +1,47 @@
+package jadx.plugins.example;
+
+import jadx.plugins.ezxcodegen.CriteriaSolver;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CriteriaSolverTest {
+
+	@Test
+	public void cheapestCover() {
+		// 条件 1 单独即可区分，但两个便宜条件的代价之和更小
+		int[] masks = {0b011, 0b110};
+		int[] costs = {1, 5, 1};
+		assertThat(CriteriaSolver.solve(masks, 0, 0b111, costs, false)).isEqualTo(0b101);
+	}
+
+	@Test
+	public void tieGoesToFewerCriteria() {
+		int[] masks = {0b011, 0b101};
+		int[] costs = {2, 1, 1};
+		assertThat(CriteriaSolver.solve(masks, 0, 0b111, costs, false)).isEqualTo(0b001);
+	}
+
+	@Test
+	public void unsolvable() {
+		int[] costs = {1, 1, 1};
+		// 无法被任何条件区分
+		assertThat(CriteriaSolver.solve(new int[]{0b001, 0}, 0, 0b111, costs, false)).isEqualTo(-1);
+		// 只能被不允许的条件区分
+		assertThat(CriteriaSolver.solve(new int[]{0b100}, 0, 0b011, costs, false)).isEqualTo(-1);
+	}
+
+	@Test
+	public void preselectedExcluded() {
+		int[] costs = {1, 1, 1};
+		assertThat(CriteriaSolver.solve(new int[]{0b001, 0b010}, 0b001, 0b111, costs, false)).isEqualTo(0b010);
+		// 已生成的条件足以区分时无需额外条件
+		assertThat(CriteriaSolver.solve(new int[]{0b011, 0b101}, 0b001, 0b111, costs, false)).isEqualTo(0);
+	}
+
+	@Test
+	public void distinct() {
+		int[] masks = {0b110, 0b001, 0b110, 0b001, 0};
+		assertThat(CriteriaSolver.distinct(masks, 4)).containsExactly(0b001, 0b110);
+	}
+}
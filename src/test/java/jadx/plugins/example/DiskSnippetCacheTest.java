@@ -0,0 +1,141 @@
+package jadx.plugins.example;
+
+import jadx.plugins.ezxcodegen.CustomOptions;
+import jadx.plugins.ezxcodegen.DiskSnippetCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiskSnippetCacheTest {
+	private final CustomOptions options = new CustomOptions();
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void reuseAfterReopen() throws IOException {
+		Path file = tempDir.resolve("hooks.kt.cache");
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			assertThat(cache.get("a", 1)).isNull();
+			cache.put("a", 1, "snippet a");
+		}
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			assertThat(cache.get("a", 1)).isEqualTo("snippet a");
+			// 类的声明变化
+			assertThat(cache.get("a", 2)).isNull();
+			assertThat(cache.getHits()).isEqualTo(1);
+			assertThat(cache.getMisses()).isEqualTo(1);
+		}
+		// 配置变化
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, withDebug())) {
+			assertThat(cache.get("a", 1)).isNull();
+		}
+	}
+
+	@Test
+	public void truncatedTail() throws IOException {
+		Path file = tempDir.resolve("hooks.kt.cache");
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			cache.put("a", 1, "snippet a");
+			cache.put("b", 1, "snippet b");
+		}
+		// 模拟上次写入中断：最后一条记录不完整
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 3);
+		}
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			assertThat(cache.get("a", 1)).isEqualTo("snippet a");
+			assertThat(cache.get("b", 1)).isNull();
+			cache.put("b", 1, "snippet b2");
+		}
+		// 重写后可以继续追加
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			assertThat(cache.get("a", 1)).isEqualTo("snippet a");
+			assertThat(cache.get("b", 1)).isEqualTo("snippet b2");
+		}
+	}
+
+	@Test
+	public void truncatedInsideRecordHeader() throws IOException {
+		Path file = tempDir.resolve("hooks.kt.cache");
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			cache.put("a", 1, "snippet a");
+			cache.put("b", 1, "snippet b");
+		}
+		// 每条记录 28 字节：id 长度 2、id 1、类哈希 8、配置哈希 4、代码长度 4、代码 9，
+		// 只保留最后一条记录 id 长度的第一个字节
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 28 + 1);
+		}
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			assertThat(cache.get("a", 1)).isEqualTo("snippet a");
+			assertThat(cache.get("b", 1)).isNull();
+			cache.put("b", 1, "snippet b2");
+		}
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			assertThat(cache.get("a", 1)).isEqualTo("snippet a");
+			assertThat(cache.get("b", 1)).isEqualTo("snippet b2");
+		}
+	}
+
+	@Test
+	public void versionMismatch() throws IOException {
+		Path file = tempDir.resolve("hooks.kt.cache");
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			cache.put("a", 1, "snippet a");
+		}
+		// 文件头：magic、version
+		try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+			raf.seek(4);
+			raf.writeInt(Integer.MAX_VALUE);
+		}
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			assertThat(cache.get("a", 1)).isNull();
+			cache.put("c", 1, "snippet c");
+		}
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			assertThat(cache.get("a", 1)).isNull();
+			assertThat(cache.get("c", 1)).isEqualTo("snippet c");
+		}
+	}
+
+	@Test
+	public void compaction() throws IOException {
+		Path file = tempDir.resolve("hooks.kt.cache");
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			cache.put("a", 1, "first");
+		}
+		long singleRecordSize = Files.size(file);
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			for (int i = 0; i < 2000; i++) {
+				cache.put("a", i, "snippet " + i);
+			}
+		}
+		// 关闭时只保留最新的一条记录
+		assertThat(Files.size(file)).isLessThan(singleRecordSize * 2);
+		try (DiskSnippetCache cache = DiskSnippetCache.open(file, options)) {
+			assertThat(cache.get("a", 1999)).isEqualTo("snippet 1999");
+		}
+	}
+
+	private static CustomOptions withDebug() {
+		CustomOptions options = new CustomOptions();
+		try {
+			Field debugEnableField = CustomOptions.class.getDeclaredField("debugEnable");
+			debugEnableField.setAccessible(true);
+			debugEnableField.set(options, true);
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+		return options;
+	}
+}
@@ -3,18 +3,20 @@ package jadx.plugins.example;
 import jadx.api.JadxArgs;
 import jadx.api.JadxDecompiler;
 import jadx.api.JavaClass;
+import jadx.api.JavaField;
 import jadx.api.JavaMethod;
-import jadx.api.JavaNode;
+import jadx.core.dex.nodes.ClassNode;
 import jadx.core.dex.nodes.MethodNode;
 import jadx.plugins.ezxcodegen.CodeGenerator;
 import jadx.plugins.ezxcodegen.Comparator;
 import jadx.plugins.ezxcodegen.CustomOptions;
+import jadx.plugins.ezxcodegen.MemberFilter;
+import jadx.plugins.ezxcodegen.OutputLanguage;
 import jadx.plugins.ezxcodegen.Utils;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.List;
@@ -72,13 +74,90 @@ class EzxCodegenPluginTest {
 
 			CodeGenerator codeGenerator = new CodeGenerator(null, null, options);
 
-			Method privateMethod = CodeGenerator.class.getDeclaredMethod("generateXposedSnippet", JavaNode.class);
-			privateMethod.setAccessible(true);
-			String snippet = (String) privateMethod.invoke(codeGenerator, jMth);
+			String snippet = codeGenerator.getSnippet(jMth.getMethodNode());
 			System.out.println("生成的代码如下：\n" + snippet);
+			assertThat(snippet).contains("MethodFinder.fromClass(\"com.cmccit.webview.customview.WebViewEx\\$WebChromeClientEx\\$1\")");
+			assertThat(snippet).contains(".filterByName(\"" + jMth.getName() + "\")");
 		}
 	}
 
+	@Test
+	public void fieldSnippetTest() throws Exception {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getSampleFile("inner.smali"));
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			JavaClass cls = jadx.getClasses().get(0);
+			JavaField jFld = cls.getFields().get(0);
+
+			CodeGenerator codeGenerator = new CodeGenerator(null, null, options);
+
+			String snippet = codeGenerator.getSnippet(jFld.getFieldNode());
+			System.out.println("生成的代码如下：\n" + snippet);
+			assertThat(snippet).contains("FieldFinder.fromClass(\"com.cmccit.webview.customview.WebViewEx\\$WebChromeClientEx\\$1\")");
+			assertThat(snippet).contains(".filterByName(\"this\\$1\")");
+			assertThat(snippet).doesNotContain("Warning");
+		}
+	}
+
+	@Test
+	public void javaSnippetTest() throws Exception {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getSampleFile("inner.smali"));
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			ClassNode cls = jadx.getClasses().get(0).getClassNode();
+			CodeGenerator codeGenerator = new CodeGenerator(null, null, withLanguage(OutputLanguage.JAVA));
+
+			String snippet = codeGenerator.getSnippet(cls.searchMethodByShortName("onPageStarted"));
+			System.out.println("生成的代码如下：\n" + snippet);
+			assertThat(snippet).startsWith("XposedBridge.hookMethod(MethodFinder.fromClass(\"com.cmccit.webview.customview.WebViewEx$WebChromeClientEx$1\")");
+			assertThat(snippet).contains(".filterByName(\"onPageStarted\")");
+			assertThat(snippet).contains("ClassUtils.loadClass(\"com.tencent.smtt.sdk.WebView\"), String.class,");
+			assertThat(snippet).contains("android.graphics.Bitmap.class");
+			assertThat(snippet).endsWith("});");
+
+			String fieldSnippet = codeGenerator.getSnippet(cls.getFields().get(0));
+			assertThat(fieldSnippet).startsWith("Field ");
+			assertThat(fieldSnippet).contains("Field = FieldFinder.fromClass(\"com.cmccit.webview.customview.WebViewEx$WebChromeClientEx$1\")");
+			assertThat(fieldSnippet).contains(".filterByName(\"this$1\")");
+			assertThat(fieldSnippet).endsWith(".first();");
+		}
+	}
+
+	@Test
+	public void xposedHelpersSnippetTest() throws Exception {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getSampleFile("inner.smali"));
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			ClassNode cls = jadx.getClasses().get(0).getClassNode();
+			CodeGenerator codeGenerator = new CodeGenerator(null, null, withLanguage(OutputLanguage.XPOSED_HELPERS));
+
+			String snippet = codeGenerator.getSnippet(cls.searchMethodByShortName("onPageStarted"));
+			System.out.println("生成的代码如下：\n" + snippet);
+			assertThat(snippet).startsWith("XposedHelpers.findAndHookMethod(\"com.cmccit.webview.customview.WebViewEx$WebChromeClientEx$1\", "
+					+ "lpparam.classLoader, \"onPageStarted\", "
+					+ "\"com.tencent.smtt.sdk.WebView\", String.class, android.graphics.Bitmap.class, new XC_MethodHook() {");
+			assertThat(snippet).doesNotContain("Warning");
+
+			String fieldSnippet = codeGenerator.getSnippet(cls.getFields().get(0));
+			assertThat(fieldSnippet).isEqualTo("XposedHelpers.getObjectField(/*runtimeObject*/, \"this$1\");");
+		}
+	}
+
+	private static CustomOptions withLanguage(OutputLanguage language) {
+		CustomOptions options = getDefaultOptions();
+		try {
+			Field languageField = CustomOptions.class.getDeclaredField("language");
+			languageField.setAccessible(true);
+			languageField.set(options, language);
+		} catch (NoSuchFieldException | IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+		return options;
+	}
+
 	public void test(JavaClass cls, JavaMethod jMth) {
 		MethodNode mth = jMth.getMethodNode();
 		List<MethodNode> sameMethodNodes = cls.getClassNode().getMethods().stream().filter(
@@ -90,10 +169,8 @@ class EzxCodegenPluginTest {
 		System.out.println("其他方法：");
 		sameMethodNodes.forEach(m -> System.out.println(Utils.getMethodString(m)));
 		Comparator comparator = new Comparator(mth, sameMethodNodes, options);
-		String result = comparator.searchUniqueModifier();
+		List<MemberFilter> result = comparator.searchUniqueFilters();
 		System.out.println(result);
-
-		String result2 = comparator.searchUniqueReturnType();
 	}
 
 	private File getSampleFile(String fileName) throws URISyntaxException {
@@ -0,0 +1,85 @@
+package jadx.plugins.example;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.plugins.ezxcodegen.BatchGenerator;
+import jadx.plugins.ezxcodegen.CustomOptions;
+import jadx.plugins.ezxcodegen.FeatureIndex;
+import jadx.plugins.ezxcodegen.MethodFeatures;
+import jadx.plugins.ezxcodegen.OutputLanguage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeatureIndexTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void searchUniqueFeatures() throws Exception {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getSampleFile("features.smali"));
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			ClassNode cls = jadx.getRoot().getClasses().get(0);
+			FeatureIndex index = FeatureIndex.of(jadx.getRoot());
+
+			// 两个方法使用相同的字符串与调用，只有 counted 读取了字段
+			MethodFeatures counted = index.searchUniqueFeatures(cls.searchMethodByShortName("counted"), false);
+			assertThat(counted).isNotNull();
+			assertThat(counted.getFields()).containsExactly("Lfeatures/Sample;->counter:I");
+			assertThat(counted.getStrings()).isEmpty();
+			assertThat(counted.getInvokes()).isEmpty();
+
+			// plain 的特征都被 counted 包含，无法唯一确定
+			assertThat(index.searchUniqueFeatures(cls.searchMethodByShortName("plain"), false)).isNull();
+		} finally {
+			FeatureIndex.invalidateAll();
+		}
+	}
+
+	@Test
+	public void xposedHelpersBatchAppendsResolver() throws Exception {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getSampleFile("features.smali"));
+		try (JadxDecompiler jadx = new JadxDecompiler(args)) {
+			jadx.load();
+			CustomOptions options = new CustomOptions();
+			setOption(options, "language", OutputLanguage.XPOSED_HELPERS);
+			setOption(options, "featureLookupEnable", true);
+			setOption(options, "resolverCacheEnable", true);
+			BatchGenerator generator = new BatchGenerator(jadx, options);
+			Path output = tempDir.resolve("hooks.java");
+			generator.generate(generator.collectAll(), output);
+			String code = Files.readString(output);
+
+			// 继承的 DexKit 查找包装在 HookResolver 中，文件末尾需要附加其代码
+			assertThat(code).contains("HookResolver.method(\"features.Sample.counted()V\"");
+			assertThat(code).contains("final class HookResolver");
+		} finally {
+			FeatureIndex.invalidateAll();
+		}
+	}
+
+	private static void setOption(CustomOptions options, String name, Object value) throws ReflectiveOperationException {
+		Field field = CustomOptions.class.getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(options, value);
+	}
+
+	private File getSampleFile(String fileName) throws URISyntaxException {
+		URL file = getClass().getClassLoader().getResource("samples/" + fileName);
+		assertThat(file).isNotNull();
+		return new File(file.toURI());
+	}
+}
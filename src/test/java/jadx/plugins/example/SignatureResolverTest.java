@@ -0,0 +1,95 @@
+package jadx.plugins.example;
+
+import jadx.api.JadxArgs;
+import jadx.api.JadxDecompiler;
+import jadx.api.metadata.ICodeNodeRef;
+import jadx.core.dex.nodes.ClassNode;
+import jadx.core.dex.nodes.MethodNode;
+import jadx.plugins.ezxcodegen.SignatureResolver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignatureResolverTest {
+	private static final String CLS = "com.cmccit.webview.customview.WebViewEx$WebChromeClientEx$1";
+
+	private JadxDecompiler jadx;
+	private ClassNode cls;
+	private SignatureResolver resolver;
+
+	@BeforeEach
+	public void load() throws URISyntaxException {
+		JadxArgs args = new JadxArgs();
+		args.getInputFiles().add(getSampleFile("inner.smali"));
+		jadx = new JadxDecompiler(args);
+		jadx.load();
+		cls = jadx.getRoot().getClasses().get(0);
+		resolver = new SignatureResolver(jadx.getRoot());
+	}
+
+	@AfterEach
+	public void close() {
+		jadx.close();
+	}
+
+	@Test
+	public void classLine() {
+		assertThat(resolve(CLS)).containsExactlyElementsOf(cls.getMethods());
+	}
+
+	@Test
+	public void memberNameLine() {
+		assertThat(resolve(CLS + "#this$1")).containsExactly(cls.getFields().get(0));
+		assertThat(resolve(CLS + "#onPageStarted")).containsExactly(method("onPageStarted"));
+	}
+
+	@Test
+	public void methodSignatureLine() {
+		assertThat(resolve(CLS + "#shouldOverrideUrlLoading(Lcom/tencent/smtt/sdk/WebView;Ljava/lang/String;)Z"))
+				.containsExactly(method("shouldOverrideUrlLoading"));
+		// 返回值类型不同
+		assertThat(resolve(CLS + "#shouldOverrideUrlLoading(Lcom/tencent/smtt/sdk/WebView;Ljava/lang/String;)V")).isEmpty();
+	}
+
+	@Test
+	public void regexLine() {
+		assertThat(resolve("regex:WebChromeClientEx\\$1#(onPage|should)")).containsExactly(
+				method("onPageStarted"), method("shouldOverrideUrlLoading"));
+		assertThat(resolve("regex:#this\\$")).containsExactly(cls.getFields().get(0));
+	}
+
+	@Test
+	public void commentsAndBlankLines() {
+		List<ICodeNodeRef> result = resolver.resolve(Arrays.asList(
+				"# comment " + CLS,
+				"",
+				"   ",
+				"  " + CLS + "#onPageStarted  ",
+				"com.example.Missing",
+				CLS + "#onPageStarted"));
+		assertThat(result).containsExactly(method("onPageStarted"));
+	}
+
+	private List<ICodeNodeRef> resolve(String line) {
+		return resolver.resolve(Collections.singletonList(line));
+	}
+
+	private MethodNode method(String name) {
+		return cls.searchMethodByShortName(name);
+	}
+
+	private File getSampleFile(String fileName) throws URISyntaxException {
+		URL file = getClass().getClassLoader().getResource("samples/" + fileName);
+		assertThat(file).isNotNull();
+		return new File(file.toURI());
+	}
+}
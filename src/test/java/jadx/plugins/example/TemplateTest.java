@@ -0,0 +1,25 @@
+package jadx.plugins.example;
+
+import jadx.plugins.ezxcodegen.Template;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemplateTest {
+
+	@Test
+	public void placeholders() {
+		assertThat(Template.compile("{0}Finder.fromClass({1})").render("Method", "cls")).isEqualTo("MethodFinder.fromClass(cls)");
+		assertThat(Template.compile("{1}-{0}-{1}").render("a", "b")).isEqualTo("b-a-b");
+		assertThat(Template.compile("no placeholder").render()).isEqualTo("no placeholder");
+	}
+
+	@Test
+	public void bracesAroundPlaceholder() {
+		// 只有 { 与 } 之间全为数字时才是占位符，其余括号原样输出
+		assertThat(Template.compile("new Class<?>[]{{0}}").render("a.class")).isEqualTo("new Class<?>[]{a.class}");
+		assertThat(Template.compile("{ {0}").render("x")).isEqualTo("{ x");
+		assertThat(Template.compile(".filter { isBridge }").render()).isEqualTo(".filter { isBridge }");
+		assertThat(Template.compile("{}{a}").render()).isEqualTo("{}{a}");
+	}
+}